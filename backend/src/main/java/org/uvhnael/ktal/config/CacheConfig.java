@@ -0,0 +1,47 @@
+package org.uvhnael.ktal.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.uvhnael.ktal.constants.AppConstants;
+
+import java.time.Duration;
+
+/**
+ * In-process read-through caches for public content. Each cache has its own TTL
+ * from {@link AppConstants.Cache}; writes evict entries explicitly through
+ * {@link org.uvhnael.ktal.service.CacheEvictionService}, so the TTL only bounds
+ * staleness for changes made outside the application.
+ * Stats are recorded so actuator publishes cache.gets (hit/miss) and cache.evictions per cache.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        register(cacheManager, AppConstants.Cache.BLOG_CACHE, AppConstants.Cache.BLOG_CACHE_TTL, AppConstants.Cache.MAX_ENTRIES);
+        register(cacheManager, AppConstants.Cache.BLOG_SLUG_CACHE, AppConstants.Cache.BLOG_CACHE_TTL, AppConstants.Cache.MAX_ENTRIES);
+        register(cacheManager, AppConstants.Cache.BLOG_LIST_CACHE, AppConstants.Cache.BLOG_CACHE_TTL, AppConstants.Cache.LIST_MAX_ENTRIES);
+        register(cacheManager, AppConstants.Cache.PROJECT_CACHE, AppConstants.Cache.PROJECT_CACHE_TTL, AppConstants.Cache.MAX_ENTRIES);
+        register(cacheManager, AppConstants.Cache.PROJECT_SLUG_CACHE, AppConstants.Cache.PROJECT_CACHE_TTL, AppConstants.Cache.MAX_ENTRIES);
+        register(cacheManager, AppConstants.Cache.PROJECT_LIST_CACHE, AppConstants.Cache.PROJECT_CACHE_TTL, AppConstants.Cache.LIST_MAX_ENTRIES);
+        register(cacheManager, AppConstants.Cache.SERVICE_CACHE, AppConstants.Cache.SERVICE_CACHE_TTL, AppConstants.Cache.MAX_ENTRIES);
+        register(cacheManager, AppConstants.Cache.SERVICE_LIST_CACHE, AppConstants.Cache.SERVICE_CACHE_TTL, AppConstants.Cache.LIST_MAX_ENTRIES);
+        // Một entry duy nhất cho tất cả facet
+        register(cacheManager, AppConstants.Cache.FACET_CACHE, AppConstants.Cache.FACET_CACHE_TTL, 1);
+        return cacheManager;
+    }
+
+    private static void register(CaffeineCacheManager cacheManager, String name, int ttlSeconds, int maxEntries) {
+        cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,39 @@
+package org.uvhnael.ktal.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ChatExecutorConfig {
+
+    /**
+     * Virtual-thread executor for the chat pipeline. Blocking calls to Milvus,
+     * MySQL and OpenAI park a virtual thread instead of holding a platform thread.
+     */
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ExecutorService chatExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Bounded executor for async chat jobs. Worker count caps concurrent model
+     * work; when the queue is full new jobs are rejected instead of piling up.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor chatJobExecutor(@Value("${chat.jobs.workers:4}") int workers,
+                                              @Value("${chat.jobs.queue-capacity:100}") int queueCapacity) {
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("chat-job-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,28 @@
+package org.uvhnael.ktal.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class DashboardExecutorConfig {
+
+    /**
+     * Bounded executor for the per-entity queries of dashboard endpoints. Caps
+     * how many run at once so a burst of dashboard requests cannot take every
+     * pooled connection; when the queue is full a section is rejected and
+     * reported as missing instead of waiting.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor dashboardExecutor(@Value("${dashboard.fanout.workers:8}") int workers,
+                                                @Value("${dashboard.fanout.queue-capacity:64}") int queueCapacity) {
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("dashboard-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,43 @@
+package org.uvhnael.ktal.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Replaces the OpenAI backed ChatClient with a local deterministic stub.
+ * Activate with {@code --spring.profiles.active=llm-stub} to load test the chat
+ * pipeline (embedding, Milvus, MySQL, prompt building) without calling OpenAI.
+ */
+@Slf4j
+@Configuration
+@Profile("llm-stub")
+public class LlmStubConfig {
+
+    @Value("${llm.stub.time-to-first-token-ms:300}")
+    private long timeToFirstTokenMs;
+
+    @Value("${llm.stub.tokens-per-second:50}")
+    private double tokensPerSecond;
+
+    @Value("${llm.stub.output-tokens:120}")
+    private int outputTokens;
+
+    @Value("${llm.stub.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${llm.stub.seed:42}")
+    private long seed;
+
+    @Bean
+    public ChatClient chatClient() {
+        log.warn("Using stub LLM: ttft={}ms, tokens/s={}, outputTokens={}, errorRate={}",
+                timeToFirstTokenMs, tokensPerSecond, outputTokens, errorRate);
+        StubChatModel stubChatModel = new StubChatModel(
+                timeToFirstTokenMs, tokensPerSecond, outputTokens, errorRate, seed);
+        return ChatClient.builder(stubChatModel).build();
+    }
+}
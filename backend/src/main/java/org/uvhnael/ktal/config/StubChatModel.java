@@ -0,0 +1,82 @@
+package org.uvhnael.ktal.config;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ChatModel that simulates LLM latency and failures without network calls.
+ * <p>
+ * Output text depends only on the prompt and the seed, so the same prompt
+ * always produces the same answer. Errors are drawn from a seeded sequence,
+ * so a run with the same request order fails on the same requests.
+ */
+class StubChatModel implements ChatModel {
+
+    private static final String[] VOCABULARY = {
+            "thiết", "kế", "nội", "thất", "kiến", "trúc", "công", "trình", "nhà", "phố",
+            "biệt", "thự", "phong", "cách", "hiện", "đại", "không", "gian", "ánh", "sáng",
+            "vật", "liệu", "chi", "phí", "thi", "công", "dự", "án", "khách", "hàng"
+    };
+
+    private final long timeToFirstTokenMs;
+    private final double tokensPerSecond;
+    private final int outputTokens;
+    private final double errorRate;
+    private final long seed;
+    private final AtomicLong callCounter = new AtomicLong();
+
+    StubChatModel(long timeToFirstTokenMs, double tokensPerSecond, int outputTokens, double errorRate, long seed) {
+        this.timeToFirstTokenMs = timeToFirstTokenMs;
+        this.tokensPerSecond = tokensPerSecond;
+        this.outputTokens = outputTokens;
+        this.errorRate = errorRate;
+        this.seed = seed;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        long callIndex = callCounter.getAndIncrement();
+        if (errorRate > 0 && new Random(seed + callIndex).nextDouble() < errorRate) {
+            sleep(timeToFirstTokenMs);
+            throw new IllegalStateException("Stub LLM simulated error for call #" + callIndex);
+        }
+
+        String text = generateText(prompt.getContents());
+
+        long generationMs = tokensPerSecond > 0 ? (long) (outputTokens * 1000 / tokensPerSecond) : 0;
+        sleep(timeToFirstTokenMs + generationMs);
+
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+
+    private String generateText(String promptText) {
+        Random random = new Random(seed ^ promptText.hashCode());
+        StringBuilder text = new StringBuilder("[stub] ");
+        for (int i = 0; i < outputTokens; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+        }
+        return text.append('.').toString();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Stub LLM call interrupted", e);
+        }
+    }
+}
@@ -17,6 +17,7 @@ public final class AppConstants {
         public static final String SUCCESS_CREATED = "Data created successfully";
         public static final String SUCCESS_UPDATED = "Data updated successfully";
         public static final String SUCCESS_DELETED = "Data deleted successfully";
+        public static final String SUCCESS_BULK_CREATED = "Bulk import completed successfully";
 
         public static final String ERROR_NOT_FOUND = "Resource not found";
         public static final String ERROR_INVALID_INPUT = "Invalid input provided";
@@ -24,6 +25,8 @@ public final class AppConstants {
         public static final String ERROR_DATABASE_OPERATION = "Database operation failed";
         public static final String ERROR_UNAUTHORIZED = "Unauthorized access";
         public static final String ERROR_FORBIDDEN = "Access forbidden";
+        public static final String ERROR_CHAT_BUSY = "Chat service is busy, please retry later";
+        public static final String ERROR_RATE_LIMITED = "Too many requests, please retry later";
 
         // Blog messages
         public static final String BLOG_RETRIEVED = "Blog retrieved successfully";
@@ -77,6 +80,8 @@ public final class AppConstants {
         public static final String CHAT_HISTORY_RETRIEVED = "Chat history retrieved successfully";
         public static final String CHAT_SESSION_CREATED = "Chat session created successfully";
         public static final String CHAT_SESSION_ENDED = "Chat session ended successfully";
+        public static final String CHAT_JOB_ACCEPTED = "Chat job accepted";
+        public static final String CHAT_JOB_RETRIEVED = "Chat job retrieved successfully";
         public static final String SIMILAR_CONTENT_FOUND = "Similar content found successfully";
 
         // File upload messages
@@ -93,6 +98,7 @@ public final class AppConstants {
         public static final String CONTENT_STATS_RETRIEVED = "Content statistics retrieved successfully";
         public static final String CONTACT_ANALYSIS_RETRIEVED = "Contact analysis retrieved successfully";
         public static final String GLOBAL_SEARCH_COMPLETED = "Global search completed successfully";
+        public static final String FACETS_RETRIEVED = "Facets retrieved successfully";
 
         // General utility messages
         public static final String CATEGORIES_RETRIEVED = "Categories retrieved successfully";
@@ -173,6 +179,10 @@ public final class AppConstants {
         public static final int MAX_CHAT_MESSAGE_LENGTH = 2000;
         public static final int DEFAULT_SIMILARITY_LIMIT = 5;
 
+        // Blog derived content
+        public static final int BLOG_SUMMARY_LENGTH = 150;
+        public static final int CHAT_EXCERPT_LENGTH = 200;
+
         // File defaults
         public static final int DEFAULT_FILE_LIST_LIMIT = 20;
         public static final String DEFAULT_FILE_SORT = "uploadDate";
@@ -292,6 +302,16 @@ public final class AppConstants {
         public static final String SERVICE_CACHE = "services";
         public static final String USER_CACHE = "users";
         public static final String CATEGORY_CACHE = "categories";
+        public static final String BLOG_SLUG_CACHE = "blogs.slug";
+        public static final String BLOG_LIST_CACHE = "blogs.list";
+        public static final String PROJECT_SLUG_CACHE = "projects.slug";
+        public static final String PROJECT_LIST_CACHE = "projects.list";
+        public static final String SERVICE_LIST_CACHE = "services.list";
+        public static final String FACET_CACHE = "facets";
+
+        // Max entries per cache
+        public static final int MAX_ENTRIES = 1000;
+        public static final int LIST_MAX_ENTRIES = 500;
 
         // Cache TTL (Time To Live) in seconds
         public static final int BLOG_CACHE_TTL = 300; // 5 minutes
@@ -299,6 +319,7 @@ public final class AppConstants {
         public static final int SERVICE_CACHE_TTL = 1800; // 30 minutes
         public static final int USER_CACHE_TTL = 900; // 15 minutes
         public static final int STATISTICS_CACHE_TTL = 180; // 3 minutes
+        public static final int FACET_CACHE_TTL = 600; // 10 minutes
     }
 
     // Chat/AI Constants
@@ -334,6 +355,7 @@ public final class AppConstants {
         public static final int CHAT_REQUESTS_PER_MINUTE = 20;
         public static final int FILE_UPLOAD_REQUESTS_PER_MINUTE = 10;
         public static final int SEARCH_REQUESTS_PER_MINUTE = 50;
+        public static final String API_KEY_HEADER = "X-API-Key";
     }
 
     // Notification Constants
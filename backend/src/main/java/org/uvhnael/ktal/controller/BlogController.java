@@ -1,13 +1,24 @@
 package org.uvhnael.ktal.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.uvhnael.ktal.constants.AppConstants;
 import org.uvhnael.ktal.dto.response.ApiResponse;
+import org.uvhnael.ktal.dto.response.BlogListItem;
+import org.uvhnael.ktal.dto.response.CursorPageResponse;
+import org.uvhnael.ktal.dto.response.PageResponse;
+import org.uvhnael.ktal.exception.BusinessException;
+import org.uvhnael.ktal.exception.ResourceNotFoundException;
 import org.uvhnael.ktal.model.Blog;
 import org.uvhnael.ktal.service.BlogService;
+import org.uvhnael.ktal.service.FacetService;
+import org.uvhnael.ktal.service.StatisticsService;
+import org.uvhnael.ktal.utils.JsonArrayStreamer;
 
 import java.util.List;
 import java.util.Map;
@@ -20,19 +31,22 @@ import java.util.Map;
 public class BlogController {
 
     private final BlogService blogService;
+    private final FacetService facetService;
+    private final StatisticsService statisticsService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Retrieves all blogs with optional filtering and pagination
+     * Retrieves blogs with optional filtering and pagination
      *
      * @param page     Page number (default: 0)
      * @param size     Page size (default: 10, max: 100)
      * @param category Filter by blog category
      * @param status   Filter by blog status (published, draft, archived)
      * @param search   Search in title and content
-     * @return List of blogs matching the criteria
+     * @return Page of blogs matching the criteria
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Blog>>> getAllBlogs(
+    public ResponseEntity<ApiResponse<PageResponse<BlogListItem>>> getAllBlogs(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String category,
@@ -40,50 +54,62 @@ public class BlogController {
             @RequestParam(required = false) String search) {
 
         // Validate and limit page size to prevent excessive data retrieval
-        if (size > AppConstants.Defaults.MAX_PAGE_SIZE) {
-            size = AppConstants.Defaults.MAX_PAGE_SIZE;
-        }
+        size = Math.max(AppConstants.Defaults.MIN_PAGE_SIZE, Math.min(size, AppConstants.Defaults.MAX_PAGE_SIZE));
+        page = Math.max(AppConstants.Defaults.DEFAULT_PAGE_NUMBER, page);
 
         log.info("GET /api/v1/blogs - Request params: page={}, size={}, category={}, status={}, search={}",
                 page, size, category, status, search);
 
         try {
-            List<Blog> blogs = blogService.findAll();
-            int originalSize = blogs.size();
-
-            // Apply category filter if provided
-            if (category != null && !category.isEmpty()) {
-                blogs = blogs.stream()
-                        .filter(blog -> category.equals(blog.getCategory()))
-                        .toList();
-                log.debug("{} category '{}': {} -> {} blogs", AppConstants.LogMessages.DATA_FILTERED,
-                        category, originalSize, blogs.size());
-            }
+            PageResponse<BlogListItem> blogs = blogService.findPage(category, status, search, page, size);
 
-            // Apply status filter if provided
-            if (status != null && !status.isEmpty()) {
-                blogs = blogs.stream()
-                        .filter(blog -> status.equals(blog.getStatus()))
-                        .toList();
-                log.debug("{} status '{}': {} blogs remaining", AppConstants.LogMessages.DATA_FILTERED,
-                        status, blogs.size());
-            }
+            log.info("GET /api/v1/blogs - Success: Retrieved {} blogs (page {} of {} matching)",
+                    blogs.getContent().size(), page, blogs.getTotalElements());
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.BLOGS_RETRIEVED, blogs));
 
-            // Apply search filter if provided
-            if (search != null && !search.isEmpty()) {
-                blogs = blogs.stream()
-                        .filter(blog -> blog.getTitle().toLowerCase().contains(search.toLowerCase()) ||
-                                blog.getContent().toLowerCase().contains(search.toLowerCase()))
-                        .toList();
-                log.debug("{} search: {} blogs remaining", AppConstants.LogMessages.DATA_FILTERED, blogs.size());
-            }
+        } catch (Exception e) {
+            log.error("GET /api/v1/blogs - Error retrieving blogs: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to retrieve blogs: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Scrolls blogs newest first with an opaque cursor; page cost does not grow with depth
+     *
+     * @param cursor    nextCursor from the previous page (omit for the first page)
+     * @param size      Page size (default: 10, max: 100)
+     * @param category  Filter by blog category
+     * @param status    Filter by blog status
+     * @param search    Search in title and content
+     * @return Page of blogs with nextCursor
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPageResponse<BlogListItem>>> scrollBlogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String search) {
+
+        size = Math.max(AppConstants.Defaults.MIN_PAGE_SIZE, Math.min(size, AppConstants.Defaults.MAX_PAGE_SIZE));
+
+        log.info("GET /api/v1/blogs/scroll - Request params: cursor={}, size={}, category={}, status={}, search={}",
+                cursor, size, category, status, search);
 
-            log.info("GET /api/v1/blogs - Success: Retrieved {} blogs (filtered from {} total)",
-                    blogs.size(), originalSize);
+        try {
+            CursorPageResponse<BlogListItem> blogs = blogService.findAfter(category, status, search, cursor, size);
+
+            log.info("GET /api/v1/blogs/scroll - Success: Retrieved {} blogs, hasMore={}",
+                    blogs.getContent().size(), blogs.isHasMore());
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.BLOGS_RETRIEVED, blogs));
 
+        } catch (BusinessException e) {
+            log.warn("GET /api/v1/blogs/scroll - {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
-            log.error("GET /api/v1/blogs - Error retrieving blogs: {}", e.getMessage(), e);
+            log.error("GET /api/v1/blogs/scroll - Error retrieving blogs: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Failed to retrieve blogs: " + e.getMessage()));
         }
@@ -128,14 +154,14 @@ public class BlogController {
 
         try {
             Blog blog = blogService.findBySlug(slug);
-            if (blog != null) {
-                log.info("GET /api/v1/blogs/slug/{} - {}: Found blog with ID {}",
-                        slug, AppConstants.LogMessages.ENTITY_FOUND, blog.getId());
-                return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.BLOG_RETRIEVED, blog));
-            } else {
-                log.warn("GET /api/v1/blogs/slug/{} - {}", slug, AppConstants.LogMessages.ENTITY_NOT_FOUND);
-                return ResponseEntity.notFound().build();
-            }
+            log.info("GET /api/v1/blogs/slug/{} - {}: Found blog with ID {}",
+                    slug, AppConstants.LogMessages.ENTITY_FOUND, blog.getId());
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.BLOG_RETRIEVED, blog));
+
+        } catch (ResourceNotFoundException e) {
+            log.warn("GET /api/v1/blogs/slug/{} - {}", slug, AppConstants.LogMessages.ENTITY_NOT_FOUND);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             log.error("GET /api/v1/blogs/slug/{} - Error retrieving blog: {}", slug, e.getMessage(), e);
             return ResponseEntity.internalServerError()
@@ -153,12 +179,7 @@ public class BlogController {
         log.info("GET /api/v1/blogs/categories - Request to get blog categories");
 
         try {
-            List<Blog> blogs = blogService.findAll();
-            List<String> categories = blogs.stream()
-                    .map(Blog::getCategory)
-                    .distinct()
-                    .filter(category -> category != null && !category.isEmpty())
-                    .toList();
+            List<String> categories = List.copyOf(facetService.facets().getBlogCategories().keySet());
 
             log.info("GET /api/v1/blogs/categories - Success: Retrieved {} unique categories", categories.size());
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.CATEGORIES_RETRIEVED, categories));
@@ -176,17 +197,13 @@ public class BlogController {
      * @return List of published blogs
      */
     @GetMapping("/published")
-    public ResponseEntity<ApiResponse<List<Blog>>> getPublishedBlogs() {
+    public ResponseEntity<ApiResponse<List<BlogListItem>>> getPublishedBlogs() {
         log.info("GET /api/v1/blogs/published - Request to get published blogs");
 
         try {
-            List<Blog> blogs = blogService.findAll();
-            List<Blog> publishedBlogs = blogs.stream()
-                    .filter(blog -> AppConstants.EntityStatus.PUBLISHED.equalsIgnoreCase(blog.getStatus()))
-                    .toList();
+            List<BlogListItem> publishedBlogs = blogService.findPublished();
 
-            log.info("GET /api/v1/blogs/published - Success: Retrieved {} published blogs from {} total",
-                    publishedBlogs.size(), blogs.size());
+            log.info("GET /api/v1/blogs/published - Success: Retrieved {} published blogs", publishedBlogs.size());
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.BLOGS_RETRIEVED, publishedBlogs));
 
         } catch (Exception e) {
@@ -202,29 +219,14 @@ public class BlogController {
      * @return Blog statistics data
      */
     @GetMapping("/statistics")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getBlogStatistics() {
+    public ResponseEntity<ApiResponse<Map<String, Long>>> getBlogStatistics() {
         log.info("GET /api/v1/blogs/statistics - Request to get blog statistics");
 
         try {
-            List<Blog> blogs = blogService.findAll();
-
-            long totalBlogs = blogs.size();
-            long publishedBlogs = blogs.stream()
-                    .filter(blog -> AppConstants.EntityStatus.PUBLISHED.equalsIgnoreCase(blog.getStatus()))
-                    .count();
-            long draftBlogs = blogs.stream()
-                    .filter(blog -> AppConstants.EntityStatus.DRAFT.equalsIgnoreCase(blog.getStatus()))
-                    .count();
-
-            Map<String, Object> statistics = Map.of(
-                    "totalBlogs", totalBlogs,
-                    "publishedBlogs", publishedBlogs,
-                    "draftBlogs", draftBlogs,
-                    "categories", blogs.stream().map(Blog::getCategory).distinct().count()
-            );
+            Map<String, Long> statistics = statisticsService.blogStatistics();
 
             log.info("GET /api/v1/blogs/statistics - Success: Stats calculated - Total: {}, Published: {}, Draft: {}",
-                    totalBlogs, publishedBlogs, draftBlogs);
+                    statistics.get("totalBlogs"), statistics.get("publishedBlogs"), statistics.get("draftBlogs"));
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.STATISTICS_RETRIEVED, statistics));
 
         } catch (Exception e) {
@@ -258,6 +260,46 @@ public class BlogController {
         }
     }
 
+    /**
+     * Bulk import from a JSON array of blogs. The body is streamed and written
+     * in batches of {@link AppConstants.Database#BATCH_SIZE}, so large imports stay flat in memory.
+     * Each batch is committed on its own: if an element is invalid or a batch fails,
+     * earlier batches stay saved and the error response carries their count.
+     *
+     * @param request Request whose body is a JSON array of blog objects
+     * @return Number of blogs created
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> bulkCreateBlogs(HttpServletRequest request) {
+        log.info("POST /api/v1/blogs/bulk - Request to bulk import blogs");
+
+        try {
+            int created = JsonArrayStreamer.stream(objectMapper, request.getInputStream(), Blog.class,
+                    AppConstants.Database.BATCH_SIZE,
+                    blog -> {
+                        JsonArrayStreamer.requireText(blog.getTitle(), "title");
+                        JsonArrayStreamer.requireText(blog.getSlug(), "slug");
+                    },
+                    blogService::createAll);
+            log.info("POST /api/v1/blogs/bulk - Success: Imported {} blogs", created);
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.SUCCESS_BULK_CREATED,
+                    Map.of("created", created)));
+
+        } catch (JsonArrayStreamer.PartialImportException e) {
+            // Các lô trước đó đã được lưu, báo lại số lượng để client biết tiếp tục từ đâu
+            log.error("POST /api/v1/blogs/bulk - Import stopped after {} blogs: {}",
+                    e.getImported(), e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to import blogs after " + e.getImported()
+                            + " were saved: " + e.getMessage(), Map.of("created", e.getImported())));
+
+        } catch (Exception e) {
+            log.error("POST /api/v1/blogs/bulk - Error importing blogs: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to import blogs: " + e.getMessage()));
+        }
+    }
+
     /**
      * Updates an existing blog post
      *
@@ -4,14 +4,23 @@ package org.uvhnael.ktal.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.uvhnael.ktal.constants.AppConstants;
 import org.uvhnael.ktal.dto.request.ChatRequest;
 import org.uvhnael.ktal.dto.response.ApiResponse;
+import org.uvhnael.ktal.dto.response.ChatHistoryResponse;
 import org.uvhnael.ktal.dto.response.ChatResponse;
 import org.uvhnael.ktal.dto.response.DetailedChatResponse;
+import org.uvhnael.ktal.model.ChatJob;
+import org.uvhnael.ktal.model.ChatSession;
+import org.uvhnael.ktal.service.ChatJobService;
 import org.uvhnael.ktal.service.ChatService;
+import org.uvhnael.ktal.service.ChatSessionService;
+
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/v1/chat")
@@ -21,6 +30,8 @@ import org.uvhnael.ktal.service.ChatService;
 public class ChatController {
 
     private final ChatService chatService;
+    private final ChatSessionService chatSessionService;
+    private final ChatJobService chatJobService;
 
     /**
      * Main chat endpoint - search and answer questions
@@ -57,7 +68,7 @@ public class ChatController {
                 maxResults = AppConstants.Chat.MAX_SIMILAR_RESULTS;
             }
 
-            ChatResponse response = chatService.searchAndAnswer(request.getQuery(), maxResults);
+            ChatResponse response = chatService.searchAndAnswer(request.getQuery(), maxResults, request.getSessionId());
 
             log.info("POST /api/v1/chat/ask - Success: Generated response for query with {} related items",
                     response.getRelatedBlogs() != null ? response.getRelatedBlogs().size() : 0);
@@ -115,6 +126,167 @@ public class ChatController {
         }
     }
 
+    /**
+     * Async variant of /detailed: queue the query and poll /jobs/{jobId} for the result
+     *
+     * @param request Chat request
+     * @return 202 with the queued job, or 503 when the job queue is full
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ApiResponse<ChatJob>> submitJob(@Valid @RequestBody ChatRequest request) {
+        log.info("POST /api/v1/chat/jobs - {}: Async chat request", AppConstants.LogMessages.CHAT_SESSION_INITIATED);
+
+        try {
+            if (request.getQuery() == null || request.getQuery().trim().isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error(AppConstants.Messages.ERROR_INVALID_INPUT));
+            }
+
+            if (request.getQuery().length() > AppConstants.Chat.MAX_CONTEXT_LENGTH) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("Query exceeds maximum length"));
+            }
+
+            int maxResults = request.getMaxResults() != null ?
+                    request.getMaxResults() : AppConstants.Chat.MAX_SIMILAR_RESULTS;
+
+            ChatJob job = chatJobService.submit(request.getQuery(), maxResults);
+
+            log.info("POST /api/v1/chat/jobs - Success: Queued job {}", job.getId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success(AppConstants.Messages.CHAT_JOB_ACCEPTED, job));
+
+        } catch (RejectedExecutionException e) {
+            log.warn("POST /api/v1/chat/jobs - Job queue full ({} waiting), rejecting request",
+                    chatJobService.queueDepth());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(ApiResponse.error(AppConstants.Messages.ERROR_CHAT_BUSY));
+        } catch (Exception e) {
+            log.error("POST /api/v1/chat/jobs - Error queuing chat job: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to queue chat job: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the status of an async chat job, with the result once it is done
+     *
+     * @param jobId Job id returned by POST /jobs
+     * @return Job status and result
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<ChatJob>> getJob(@PathVariable String jobId) {
+        log.debug("GET /api/v1/chat/jobs/{} - Job status request", jobId);
+
+        try {
+            return chatJobService.find(jobId)
+                    .map(job -> ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.CHAT_JOB_RETRIEVED, job)))
+                    .orElseGet(() -> {
+                        log.warn("GET /api/v1/chat/jobs/{} - Job not found or expired", jobId);
+                        return ResponseEntity.status(404)
+                                .body(ApiResponse.error(AppConstants.Messages.ERROR_NOT_FOUND));
+                    });
+
+        } catch (Exception e) {
+            log.error("GET /api/v1/chat/jobs/{} - Error retrieving job: {}", jobId, e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to retrieve chat job: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Start a new chat session; pass the returned id as sessionId in /ask
+     *
+     * @return Session id
+     */
+    @PostMapping("/sessions")
+    public ResponseEntity<ApiResponse<ChatHistoryResponse>> createSession() {
+        log.info("POST /api/v1/chat/sessions - Create chat session request");
+
+        try {
+            ChatSession session = chatSessionService.create();
+            ChatHistoryResponse response = ChatHistoryResponse.builder()
+                    .sessionId(session.getId())
+                    .summary(session.getSummary())
+                    .turns(java.util.List.of())
+                    .build();
+
+            log.info("POST /api/v1/chat/sessions - Success: Created session {}", session.getId());
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.CHAT_SESSION_CREATED, response));
+
+        } catch (Exception e) {
+            log.error("POST /api/v1/chat/sessions - Error creating session: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to create chat session: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the stored history of a chat session
+     *
+     * @param sessionId Session id
+     * @return Summary of older turns plus the stored turns
+     */
+    @GetMapping("/sessions/{sessionId}/history")
+    public ResponseEntity<ApiResponse<ChatHistoryResponse>> getSessionHistory(@PathVariable String sessionId) {
+        log.info("GET /api/v1/chat/sessions/{}/history - Chat history request", sessionId);
+
+        try {
+            return chatSessionService.find(sessionId)
+                    .map(session -> {
+                        ChatHistoryResponse response;
+                        synchronized (session) {
+                            response = ChatHistoryResponse.builder()
+                                    .sessionId(session.getId())
+                                    .summary(session.getSummary())
+                                    .turns(java.util.List.copyOf(session.getTurns()))
+                                    .build();
+                        }
+                        log.info("GET /api/v1/chat/sessions/{}/history - Success: {} turns", sessionId,
+                                response.getTurns().size());
+                        return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.CHAT_HISTORY_RETRIEVED, response));
+                    })
+                    .orElseGet(() -> {
+                        log.warn("GET /api/v1/chat/sessions/{}/history - Session not found", sessionId);
+                        return ResponseEntity.status(404)
+                                .body(ApiResponse.error(AppConstants.Messages.ERROR_NOT_FOUND));
+                    });
+
+        } catch (Exception e) {
+            log.error("GET /api/v1/chat/sessions/{}/history - Error retrieving history: {}", sessionId, e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to retrieve chat history: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * End a chat session and drop its history
+     *
+     * @param sessionId Session id
+     * @return Success message
+     */
+    @DeleteMapping("/sessions/{sessionId}")
+    public ResponseEntity<ApiResponse<Void>> endSession(@PathVariable String sessionId) {
+        log.info("DELETE /api/v1/chat/sessions/{} - End chat session request", sessionId);
+
+        try {
+            if (!chatSessionService.end(sessionId)) {
+                log.warn("DELETE /api/v1/chat/sessions/{} - Session not found", sessionId);
+                return ResponseEntity.status(404)
+                        .body(ApiResponse.error(AppConstants.Messages.ERROR_NOT_FOUND));
+            }
+
+            log.info("DELETE /api/v1/chat/sessions/{} - Success: Session ended", sessionId);
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.CHAT_SESSION_ENDED, null));
+
+        } catch (Exception e) {
+            log.error("DELETE /api/v1/chat/sessions/{} - Error ending session: {}", sessionId, e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to end chat session: " + e.getMessage()));
+        }
+    }
+
     /**
      * Get chat service statistics and configuration
      *
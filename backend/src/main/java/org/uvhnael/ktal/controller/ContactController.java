@@ -1,13 +1,20 @@
 package org.uvhnael.ktal.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.uvhnael.ktal.constants.AppConstants;
 import org.uvhnael.ktal.dto.response.ApiResponse;
+import org.uvhnael.ktal.dto.response.CursorPageResponse;
+import org.uvhnael.ktal.dto.response.PageResponse;
+import org.uvhnael.ktal.exception.BusinessException;
 import org.uvhnael.ktal.model.Contact;
 import org.uvhnael.ktal.service.ContactService;
+import org.uvhnael.ktal.service.StatisticsService;
+import org.uvhnael.ktal.utils.JsonArrayStreamer;
 
 import java.util.List;
 import java.util.Map;
@@ -20,73 +27,87 @@ import java.util.Map;
 public class ContactController {
 
     private final ContactService contactService;
+    private final StatisticsService statisticsService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Retrieves all contacts with optional filtering
+     * Retrieves contacts with optional filtering and pagination
      *
+     * @param page      Page number (default: 0)
+     * @param size      Page size (default: 10, max: 100)
      * @param status    Filter by contact status
      * @param serviceId Filter by service ID
      * @param handledBy Filter by handler
      * @param search    Search in name, email, and message
-     * @return List of contacts matching the criteria
+     * @return Page of contacts matching the criteria
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Contact>>> getAllContacts(
+    public ResponseEntity<ApiResponse<PageResponse<Contact>>> getAllContacts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) Long serviceId,
             @RequestParam(required = false) String handledBy,
             @RequestParam(required = false) String search) {
 
-        log.info("GET /api/v1/contacts - Request params: status={}, serviceId={}, handledBy={}, search={}",
-                status, serviceId, handledBy, search);
+        size = Math.max(AppConstants.Defaults.MIN_PAGE_SIZE, Math.min(size, AppConstants.Defaults.MAX_PAGE_SIZE));
+        page = Math.max(AppConstants.Defaults.DEFAULT_PAGE_NUMBER, page);
+
+        log.info("GET /api/v1/contacts - Request params: page={}, size={}, status={}, serviceId={}, handledBy={}, search={}",
+                page, size, status, serviceId, handledBy, search);
 
         try {
-            List<Contact> contacts = contactService.findAll();
-            int originalSize = contacts.size();
-
-            // Apply status filter if provided
-            if (status != null && !status.isEmpty()) {
-                contacts = contacts.stream()
-                        .filter(contact -> status.equalsIgnoreCase(contact.getStatus()))
-                        .toList();
-                log.debug("{} '{}': {} -> {} contacts", AppConstants.LogMessages.DATA_FILTERED,
-                        status, originalSize, contacts.size());
-            }
+            PageResponse<Contact> contacts = contactService.findPage(status, serviceId, handledBy, search, page, size);
 
-            // Apply service ID filter if provided
-            if (serviceId != null) {
-                contacts = contacts.stream()
-                        .filter(contact -> serviceId.equals(contact.getServiceId()))
-                        .toList();
-                log.debug("{} serviceId '{}': {} contacts remaining", AppConstants.LogMessages.DATA_FILTERED,
-                        serviceId, contacts.size());
-            }
+            log.info("GET /api/v1/contacts - Success: Retrieved {} contacts (page {} of {} matching)",
+                    contacts.getContent().size(), page, contacts.getTotalElements());
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.CONTACTS_RETRIEVED, contacts));
 
-            // Apply handler filter if provided
-            if (handledBy != null && !handledBy.isEmpty()) {
-                contacts = contacts.stream()
-                        .filter(contact -> handledBy.equalsIgnoreCase(contact.getHandledBy()))
-                        .toList();
-                log.debug("{} handledBy '{}': {} contacts remaining", AppConstants.LogMessages.DATA_FILTERED,
-                        handledBy, contacts.size());
-            }
+        } catch (Exception e) {
+            log.error("GET /api/v1/contacts - Error retrieving contacts: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to retrieve contacts: " + e.getMessage()));
+        }
+    }
 
-            // Apply search filter if provided
-            if (search != null && !search.isEmpty()) {
-                contacts = contacts.stream()
-                        .filter(contact -> contact.getName().toLowerCase().contains(search.toLowerCase()) ||
-                                contact.getEmail().toLowerCase().contains(search.toLowerCase()) ||
-                                contact.getMessage().toLowerCase().contains(search.toLowerCase()))
-                        .toList();
-                log.debug("{} search: {} contacts remaining", AppConstants.LogMessages.DATA_FILTERED, contacts.size());
-            }
+    /**
+     * Scrolls contacts newest first with an opaque cursor; page cost does not grow with depth
+     *
+     * @param cursor    nextCursor from the previous page (omit for the first page)
+     * @param size      Page size (default: 10, max: 100)
+     * @param status    Filter by contact status
+     * @param serviceId Filter by service ID
+     * @param handledBy Filter by handler
+     * @param search    Search in name, email, and message
+     * @return Page of contacts with nextCursor
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPageResponse<Contact>>> scrollContacts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) String handledBy,
+            @RequestParam(required = false) String search) {
 
-            log.info("GET /api/v1/contacts - Success: Retrieved {} contacts (filtered from {} total)",
-                    contacts.size(), originalSize);
+        size = Math.max(AppConstants.Defaults.MIN_PAGE_SIZE, Math.min(size, AppConstants.Defaults.MAX_PAGE_SIZE));
+
+        log.info("GET /api/v1/contacts/scroll - Request params: cursor={}, size={}, status={}, serviceId={}, handledBy={}, search={}",
+                cursor, size, status, serviceId, handledBy, search);
+
+        try {
+            CursorPageResponse<Contact> contacts = contactService.findAfter(status, serviceId, handledBy, search, cursor, size);
+
+            log.info("GET /api/v1/contacts/scroll - Success: Retrieved {} contacts, hasMore={}",
+                    contacts.getContent().size(), contacts.isHasMore());
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.CONTACTS_RETRIEVED, contacts));
 
+        } catch (BusinessException e) {
+            log.warn("GET /api/v1/contacts/scroll - {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
-            log.error("GET /api/v1/contacts - Error retrieving contacts: {}", e.getMessage(), e);
+            log.error("GET /api/v1/contacts/scroll - Error retrieving contacts: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Failed to retrieve contacts: " + e.getMessage()));
         }
@@ -163,11 +184,7 @@ public class ContactController {
         log.info("GET /api/v1/contacts/recent - Request to get {} recent contacts", limit);
 
         try {
-            List<Contact> contacts = contactService.findAll();
-            List<Contact> recentContacts = contacts.stream()
-                    .sorted((c1, c2) -> c2.getCreatedAt().compareTo(c1.getCreatedAt()))
-                    .limit(limit)
-                    .toList();
+            List<Contact> recentContacts = contactService.findRecent(limit);
 
             log.info("GET /api/v1/contacts/recent - Success: Retrieved {} recent contacts", recentContacts.size());
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.CONTACTS_RETRIEVED, recentContacts));
@@ -185,33 +202,15 @@ public class ContactController {
      * @return Contact statistics data
      */
     @GetMapping("/statistics")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getContactStatistics() {
+    public ResponseEntity<ApiResponse<Map<String, Long>>> getContactStatistics() {
         log.info("GET /api/v1/contacts/statistics - Request to get contact statistics");
 
         try {
-            List<Contact> contacts = contactService.findAll();
-
-            long totalContacts = contacts.size();
-            long pendingContacts = contacts.stream()
-                    .filter(contact -> AppConstants.EntityStatus.PENDING.equalsIgnoreCase(contact.getStatus()))
-                    .count();
-            long handledContacts = contacts.stream()
-                    .filter(contact -> AppConstants.EntityStatus.HANDLED.equalsIgnoreCase(contact.getStatus()))
-                    .count();
-            long closedContacts = contacts.stream()
-                    .filter(contact -> AppConstants.EntityStatus.CLOSED.equalsIgnoreCase(contact.getStatus()))
-                    .count();
-
-            Map<String, Object> statistics = Map.of(
-                    "totalContacts", totalContacts,
-                    "pendingContacts", pendingContacts,
-                    "handledContacts", handledContacts,
-                    "closedContacts", closedContacts,
-                    "uniqueServices", contacts.stream().map(Contact::getServiceId).distinct().count()
-            );
+            Map<String, Long> statistics = statisticsService.contactStatistics();
 
             log.info("GET /api/v1/contacts/statistics - Success: Stats calculated - Total: {}, Pending: {}, Handled: {}, Closed: {}",
-                    totalContacts, pendingContacts, handledContacts, closedContacts);
+                    statistics.get("totalContacts"), statistics.get("pendingContacts"),
+                    statistics.get("handledContacts"), statistics.get("closedContacts"));
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.STATISTICS_RETRIEVED, statistics));
 
         } catch (Exception e) {
@@ -246,6 +245,43 @@ public class ContactController {
         }
     }
 
+    /**
+     * Bulk import from a JSON array of contacts. The body is streamed and written
+     * in batches of {@link AppConstants.Database#BATCH_SIZE}, so large imports stay flat in memory.
+     * Each batch is committed on its own: if an element is invalid or a batch fails,
+     * earlier batches stay saved and the error response carries their count.
+     *
+     * @param request Request whose body is a JSON array of contact objects
+     * @return Number of contacts created
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> bulkCreateContacts(HttpServletRequest request) {
+        log.info("POST /api/v1/contacts/bulk - Request to bulk import contacts");
+
+        try {
+            int created = JsonArrayStreamer.stream(objectMapper, request.getInputStream(), Contact.class,
+                    AppConstants.Database.BATCH_SIZE,
+                    contact -> JsonArrayStreamer.requireText(contact.getName(), "name"),
+                    contactService::createAll);
+            log.info("POST /api/v1/contacts/bulk - Success: Imported {} contacts", created);
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.SUCCESS_BULK_CREATED,
+                    Map.of("created", created)));
+
+        } catch (JsonArrayStreamer.PartialImportException e) {
+            // Các lô trước đó đã được lưu, báo lại số lượng để client biết tiếp tục từ đâu
+            log.error("POST /api/v1/contacts/bulk - Import stopped after {} contacts: {}",
+                    e.getImported(), e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to import contacts after " + e.getImported()
+                            + " were saved: " + e.getMessage(), Map.of("created", e.getImported())));
+
+        } catch (Exception e) {
+            log.error("POST /api/v1/contacts/bulk - Error importing contacts: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to import contacts: " + e.getMessage()));
+        }
+    }
+
     /**
      * Updates an existing contact
      *
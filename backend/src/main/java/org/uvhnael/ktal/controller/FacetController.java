@@ -0,0 +1,45 @@
+package org.uvhnael.ktal.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.uvhnael.ktal.constants.AppConstants;
+import org.uvhnael.ktal.dto.response.ApiResponse;
+import org.uvhnael.ktal.dto.response.Facets;
+import org.uvhnael.ktal.service.FacetService;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/facets")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class FacetController {
+
+    private final FacetService facetService;
+
+    /**
+     * Retrieves every filter facet (blog categories, project areas and years,
+     * service price ranges) with counts, so the filter bar loads in one request
+     *
+     * @return Facet values and counts
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<Facets>> getFacets() {
+        log.info("GET /api/v1/facets - Request to get filter facets");
+
+        try {
+            Facets facets = facetService.facets();
+
+            log.info("GET /api/v1/facets - Success: {} categories, {} areas, {} years, {} price ranges",
+                    facets.getBlogCategories().size(), facets.getProjectAreas().size(),
+                    facets.getProjectYears().size(), facets.getServicePriceRanges().size());
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.FACETS_RETRIEVED, facets));
+
+        } catch (Exception e) {
+            log.error("GET /api/v1/facets - Error retrieving facets: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to retrieve facets: " + e.getMessage()));
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package org.uvhnael.ktal.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.uvhnael.ktal.constants.AppConstants;
 import org.uvhnael.ktal.dto.response.ApiResponse;
+import org.uvhnael.ktal.dto.response.CursorPageResponse;
+import org.uvhnael.ktal.dto.response.PageResponse;
+import org.uvhnael.ktal.dto.response.ProjectListItem;
+import org.uvhnael.ktal.exception.BusinessException;
+import org.uvhnael.ktal.exception.ResourceNotFoundException;
 import org.uvhnael.ktal.model.Project;
+import org.uvhnael.ktal.service.FacetService;
 import org.uvhnael.ktal.service.ProjectService;
+import org.uvhnael.ktal.service.StatisticsService;
+import org.uvhnael.ktal.utils.JsonArrayStreamer;
 
 import java.util.List;
 import java.util.Map;
@@ -20,78 +31,96 @@ import java.util.Map;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final FacetService facetService;
+    private final StatisticsService statisticsService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Retrieves all projects with optional filtering
+     * Retrieves projects with optional filtering and pagination
      *
+     * @param page   Page number (default: 0)
+     * @param size   Page size (default: 10, max: 100)
      * @param year   Filter by project year
      * @param area   Filter by project area
      * @param status Filter by project status
      * @param search Search in title and description
-     * @return List of projects matching the criteria
+     * @return Page of projects matching the criteria
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Project>>> getAllProjects(
+    public ResponseEntity<ApiResponse<PageResponse<ProjectListItem>>> getAllProjects(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) String area,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String search) {
 
-        log.info("GET /api/v1/projects - Request params: year={}, area={}, status={}, search={}",
-                year, area, status, search);
+        size = Math.max(AppConstants.Defaults.MIN_PAGE_SIZE, Math.min(size, AppConstants.Defaults.MAX_PAGE_SIZE));
+        page = Math.max(AppConstants.Defaults.DEFAULT_PAGE_NUMBER, page);
+
+        log.info("GET /api/v1/projects - Request params: page={}, size={}, year={}, area={}, status={}, search={}",
+                page, size, year, area, status, search);
 
         try {
-            List<Project> projects = projectService.findAll();
-            int originalSize = projects.size();
-
-            // Apply year filter if provided and within valid range
-            if (year != null) {
-                if (year < AppConstants.Validation.MIN_PROJECT_YEAR || year > AppConstants.Validation.MAX_PROJECT_YEAR) {
-                    log.warn("Invalid year filter: {}", year);
-                    return ResponseEntity.badRequest()
-                            .body(ApiResponse.error("Year must be between " + AppConstants.Validation.MIN_PROJECT_YEAR +
-                                    " and " + AppConstants.Validation.MAX_PROJECT_YEAR));
-                }
-                projects = projects.stream()
-                        .filter(project -> year.equals(project.getYear()))
-                        .toList();
-                log.debug("{} year '{}': {} -> {} projects", AppConstants.LogMessages.DATA_FILTERED,
-                        year, originalSize, projects.size());
+            // Validate year filter range
+            if (year != null && (year < AppConstants.Validation.MIN_PROJECT_YEAR || year > AppConstants.Validation.MAX_PROJECT_YEAR)) {
+                log.warn("Invalid year filter: {}", year);
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("Year must be between " + AppConstants.Validation.MIN_PROJECT_YEAR +
+                                " and " + AppConstants.Validation.MAX_PROJECT_YEAR));
             }
 
-            // Apply area filter if provided
-            if (area != null && !area.isEmpty()) {
-                projects = projects.stream()
-                        .filter(project -> area.equalsIgnoreCase(project.getArea()))
-                        .toList();
-                log.debug("{} area '{}': {} projects remaining", AppConstants.LogMessages.DATA_FILTERED,
-                        area, projects.size());
-            }
+            PageResponse<ProjectListItem> projects = projectService.findPage(year, area, status, search, page, size);
 
-            // Apply status filter if provided
-            if (status != null && !status.isEmpty()) {
-                projects = projects.stream()
-                        .filter(project -> status.equalsIgnoreCase(project.getStatus()))
-                        .toList();
-                log.debug("{} status '{}': {} projects remaining", AppConstants.LogMessages.DATA_FILTERED,
-                        status, projects.size());
-            }
+            log.info("GET /api/v1/projects - Success: Retrieved {} projects (page {} of {} matching)",
+                    projects.getContent().size(), page, projects.getTotalElements());
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.PROJECTS_RETRIEVED, projects));
 
-            // Apply search filter if provided
-            if (search != null && !search.isEmpty()) {
-                projects = projects.stream()
-                        .filter(project -> project.getTitle().toLowerCase().contains(search.toLowerCase()) ||
-                                project.getDescription().toLowerCase().contains(search.toLowerCase()))
-                        .toList();
-                log.debug("{} search: {} projects remaining", AppConstants.LogMessages.DATA_FILTERED, projects.size());
-            }
+        } catch (Exception e) {
+            log.error("GET /api/v1/projects - Error retrieving projects: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to retrieve projects: " + e.getMessage()));
+        }
+    }
 
-            log.info("GET /api/v1/projects - Success: Retrieved {} projects (filtered from {} total)",
-                    projects.size(), originalSize);
+    /**
+     * Scrolls projects newest first with an opaque cursor; page cost does not grow with depth
+     *
+     * @param cursor    nextCursor from the previous page (omit for the first page)
+     * @param size      Page size (default: 10, max: 100)
+     * @param year      Filter by project year
+     * @param area      Filter by project area
+     * @param status    Filter by project status
+     * @param search    Search in title and description
+     * @return Page of projects with nextCursor
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ProjectListItem>>> scrollProjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String area,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String search) {
+
+        size = Math.max(AppConstants.Defaults.MIN_PAGE_SIZE, Math.min(size, AppConstants.Defaults.MAX_PAGE_SIZE));
+
+        log.info("GET /api/v1/projects/scroll - Request params: cursor={}, size={}, year={}, area={}, status={}, search={}",
+                cursor, size, year, area, status, search);
+
+        try {
+            CursorPageResponse<ProjectListItem> projects = projectService.findAfter(year, area, status, search, cursor, size);
+
+            log.info("GET /api/v1/projects/scroll - Success: Retrieved {} projects, hasMore={}",
+                    projects.getContent().size(), projects.isHasMore());
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.PROJECTS_RETRIEVED, projects));
 
+        } catch (BusinessException e) {
+            log.warn("GET /api/v1/projects/scroll - {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
-            log.error("GET /api/v1/projects - Error retrieving projects: {}", e.getMessage(), e);
+            log.error("GET /api/v1/projects/scroll - Error retrieving projects: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Failed to retrieve projects: " + e.getMessage()));
         }
@@ -135,20 +164,15 @@ public class ProjectController {
         log.info("GET /api/v1/projects/slug/{} - Request to get project by slug", slug);
 
         try {
-            List<Project> projects = projectService.findAll();
-            Project project = projects.stream()
-                    .filter(p -> slug.equals(p.getSlug()))
-                    .findFirst()
-                    .orElse(null);
-
-            if (project != null) {
-                log.info("GET /api/v1/projects/slug/{} - {}: Found project with ID {}",
-                        slug, AppConstants.LogMessages.ENTITY_FOUND, project.getId());
-                return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.PROJECT_RETRIEVED, project));
-            } else {
-                log.warn("GET /api/v1/projects/slug/{} - {}", slug, AppConstants.LogMessages.ENTITY_NOT_FOUND);
-                return ResponseEntity.notFound().build();
-            }
+            Project project = projectService.findBySlug(slug);
+            log.info("GET /api/v1/projects/slug/{} - {}: Found project with ID {}",
+                    slug, AppConstants.LogMessages.ENTITY_FOUND, project.getId());
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.PROJECT_RETRIEVED, project));
+
+        } catch (ResourceNotFoundException e) {
+            log.warn("GET /api/v1/projects/slug/{} - {}", slug, AppConstants.LogMessages.ENTITY_NOT_FOUND);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             log.error("GET /api/v1/projects/slug/{} - Error retrieving project: {}", slug, e.getMessage(), e);
             return ResponseEntity.internalServerError()
@@ -166,12 +190,7 @@ public class ProjectController {
         log.info("GET /api/v1/projects/areas - Request to get project areas");
 
         try {
-            List<Project> projects = projectService.findAll();
-            List<String> areas = projects.stream()
-                    .map(Project::getArea)
-                    .distinct()
-                    .filter(area -> area != null && !area.isEmpty())
-                    .toList();
+            List<String> areas = List.copyOf(facetService.facets().getProjectAreas().keySet());
 
             log.info("GET /api/v1/projects/areas - Success: Retrieved {} unique areas", areas.size());
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.PROJECT_AREAS_RETRIEVED, areas));
@@ -193,13 +212,8 @@ public class ProjectController {
         log.info("GET /api/v1/projects/years - Request to get project years");
 
         try {
-            List<Project> projects = projectService.findAll();
-            List<Integer> years = projects.stream()
-                    .map(Project::getYear)
-                    .distinct()
-                    .filter(year -> year != null)
-                    .sorted((a, b) -> b.compareTo(a)) // Sort descending
-                    .toList();
+            // Facet đã sắp xếp năm giảm dần
+            List<Integer> years = List.copyOf(facetService.facets().getProjectYears().keySet());
 
             log.info("GET /api/v1/projects/years - Success: Retrieved {} unique years", years.size());
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.PROJECT_YEARS_RETRIEVED, years));
@@ -217,30 +231,14 @@ public class ProjectController {
      * @return Project statistics data
      */
     @GetMapping("/statistics")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getProjectStatistics() {
+    public ResponseEntity<ApiResponse<Map<String, Long>>> getProjectStatistics() {
         log.info("GET /api/v1/projects/statistics - Request to get project statistics");
 
         try {
-            List<Project> projects = projectService.findAll();
-
-            long totalProjects = projects.size();
-            long activeProjects = projects.stream()
-                    .filter(project -> AppConstants.EntityStatus.ACTIVE.equalsIgnoreCase(project.getStatus()))
-                    .count();
-            long completedProjects = projects.stream()
-                    .filter(project -> AppConstants.EntityStatus.COMPLETED.equalsIgnoreCase(project.getStatus()))
-                    .count();
-
-            Map<String, Object> statistics = Map.of(
-                    "totalProjects", totalProjects,
-                    "activeProjects", activeProjects,
-                    "completedProjects", completedProjects,
-                    "uniqueAreas", projects.stream().map(Project::getArea).distinct().count(),
-                    "uniqueYears", projects.stream().map(Project::getYear).distinct().count()
-            );
+            Map<String, Long> statistics = statisticsService.projectStatistics();
 
             log.info("GET /api/v1/projects/statistics - Success: Stats calculated - Total: {}, Active: {}, Completed: {}",
-                    totalProjects, activeProjects, completedProjects);
+                    statistics.get("totalProjects"), statistics.get("activeProjects"), statistics.get("completedProjects"));
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.STATISTICS_RETRIEVED, statistics));
 
         } catch (Exception e) {
@@ -257,7 +255,7 @@ public class ProjectController {
      * @return List of recent projects
      */
     @GetMapping("/recent")
-    public ResponseEntity<ApiResponse<List<Project>>> getRecentProjects(
+    public ResponseEntity<ApiResponse<List<ProjectListItem>>> getRecentProjects(
             @RequestParam(defaultValue = "5") int limit) {
 
         // Validate limit parameter
@@ -268,11 +266,7 @@ public class ProjectController {
         log.info("GET /api/v1/projects/recent - Request to get {} recent projects", limit);
 
         try {
-            List<Project> projects = projectService.findAll();
-            List<Project> recentProjects = projects.stream()
-                    .sorted((p1, p2) -> p2.getCreatedAt().compareTo(p1.getCreatedAt()))
-                    .limit(limit)
-                    .toList();
+            List<ProjectListItem> recentProjects = projectService.findRecent(limit);
 
             log.info("GET /api/v1/projects/recent - Success: Retrieved {} recent projects", recentProjects.size());
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.PROJECTS_RETRIEVED, recentProjects));
@@ -288,18 +282,17 @@ public class ProjectController {
      * Creates a new project
      *
      * @param project Project data to create
-     * @return Success message
+     * @return Created project with its generated ID
      */
     @PostMapping
-    public ResponseEntity<ApiResponse<String>> createProject(@RequestBody Project project) {
+    public ResponseEntity<ApiResponse<Project>> createProject(@RequestBody Project project) {
         log.info("POST /api/v1/projects - Request to create project with title '{}'", project.getTitle());
 
         try {
-            int result = projectService.create(project);
-            log.info("POST /api/v1/projects - {}: Created project with title '{}'",
-                    AppConstants.LogMessages.ENTITY_CREATED, project.getTitle());
-            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.PROJECT_CREATED,
-                    "Created " + result + " record(s)"));
+            Project createdProject = projectService.create(project);
+            log.info("POST /api/v1/projects - {}: Created project with ID {} and title '{}'",
+                    AppConstants.LogMessages.ENTITY_CREATED, createdProject.getId(), createdProject.getTitle());
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.PROJECT_CREATED, createdProject));
 
         } catch (Exception e) {
             log.error("POST /api/v1/projects - Error creating project: {}", e.getMessage(), e);
@@ -308,6 +301,46 @@ public class ProjectController {
         }
     }
 
+    /**
+     * Bulk import from a JSON array of projects. The body is streamed and written
+     * in batches of {@link AppConstants.Database#BATCH_SIZE}, so large imports stay flat in memory.
+     * Each batch is committed on its own: if an element is invalid or a batch fails,
+     * earlier batches stay saved and the error response carries their count.
+     *
+     * @param request Request whose body is a JSON array of project objects
+     * @return Number of projects created
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> bulkCreateProjects(HttpServletRequest request) {
+        log.info("POST /api/v1/projects/bulk - Request to bulk import projects");
+
+        try {
+            int created = JsonArrayStreamer.stream(objectMapper, request.getInputStream(), Project.class,
+                    AppConstants.Database.BATCH_SIZE,
+                    project -> {
+                        JsonArrayStreamer.requireText(project.getTitle(), "title");
+                        JsonArrayStreamer.requireText(project.getSlug(), "slug");
+                    },
+                    projectService::createAll);
+            log.info("POST /api/v1/projects/bulk - Success: Imported {} projects", created);
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.SUCCESS_BULK_CREATED,
+                    Map.of("created", created)));
+
+        } catch (JsonArrayStreamer.PartialImportException e) {
+            // Các lô trước đó đã được lưu, báo lại số lượng để client biết tiếp tục từ đâu
+            log.error("POST /api/v1/projects/bulk - Import stopped after {} projects: {}",
+                    e.getImported(), e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to import projects after " + e.getImported()
+                            + " were saved: " + e.getMessage(), Map.of("created", e.getImported())));
+
+        } catch (Exception e) {
+            log.error("POST /api/v1/projects/bulk - Error importing projects: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to import projects: " + e.getMessage()));
+        }
+    }
+
     /**
      * Updates an existing project
      *
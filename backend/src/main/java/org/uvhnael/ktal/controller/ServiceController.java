@@ -1,13 +1,19 @@
 package org.uvhnael.ktal.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.uvhnael.ktal.constants.AppConstants;
 import org.uvhnael.ktal.dto.response.ApiResponse;
+import org.uvhnael.ktal.dto.response.PageResponse;
 import org.uvhnael.ktal.model.Service;
+import org.uvhnael.ktal.service.FacetService;
 import org.uvhnael.ktal.service.ServiceService;
+import org.uvhnael.ktal.service.StatisticsService;
+import org.uvhnael.ktal.utils.JsonArrayStreamer;
 
 import java.util.List;
 import java.util.Map;
@@ -20,48 +26,37 @@ import java.util.Map;
 public class ServiceController {
 
     private final ServiceService serviceService;
+    private final FacetService facetService;
+    private final StatisticsService statisticsService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Retrieves all services with optional filtering
+     * Retrieves services with optional filtering and pagination
      *
+     * @param page       Page number (default: 0)
+     * @param size       Page size (default: 10, max: 100)
      * @param search     Search in title, description, and features
      * @param priceRange Filter by price range
-     * @return List of services matching the criteria
+     * @return Page of services matching the criteria
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Service>>> getAllServices(
+    public ResponseEntity<ApiResponse<PageResponse<Service>>> getAllServices(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String priceRange) {
 
-        log.info("GET /api/v1/services - Request params: search={}, priceRange={}", search, priceRange);
+        size = Math.max(AppConstants.Defaults.MIN_PAGE_SIZE, Math.min(size, AppConstants.Defaults.MAX_PAGE_SIZE));
+        page = Math.max(AppConstants.Defaults.DEFAULT_PAGE_NUMBER, page);
 
-        try {
-            List<Service> services = serviceService.findAll();
-            int originalSize = services.size();
-
-            // Apply search filter if provided
-            if (search != null && !search.isEmpty()) {
-                services = services.stream()
-                        .filter(service -> service.getTitle().toLowerCase().contains(search.toLowerCase()) ||
-                                service.getDescription().toLowerCase().contains(search.toLowerCase()) ||
-                                service.getFeatures().toLowerCase().contains(search.toLowerCase()))
-                        .toList();
-                log.debug("{} search: {} -> {} services", AppConstants.LogMessages.DATA_FILTERED,
-                        originalSize, services.size());
-            }
+        log.info("GET /api/v1/services - Request params: page={}, size={}, search={}, priceRange={}",
+                page, size, search, priceRange);
 
-            // Apply price range filter if provided
-            if (priceRange != null && !priceRange.isEmpty()) {
-                services = services.stream()
-                        .filter(service -> service.getPrice() != null &&
-                                service.getPrice().toLowerCase().contains(priceRange.toLowerCase()))
-                        .toList();
-                log.debug("{} priceRange '{}': {} services remaining", AppConstants.LogMessages.DATA_FILTERED,
-                        priceRange, services.size());
-            }
+        try {
+            PageResponse<Service> services = serviceService.findPage(search, priceRange, page, size);
 
-            log.info("GET /api/v1/services - Success: Retrieved {} services (filtered from {} total)",
-                    services.size(), originalSize);
+            log.info("GET /api/v1/services - Success: Retrieved {} services (page {} of {} matching)",
+                    services.getContent().size(), page, services.getTotalElements());
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.SERVICES_RETRIEVED, services));
 
         } catch (Exception e) {
@@ -141,12 +136,7 @@ public class ServiceController {
         log.info("GET /api/v1/services/price-ranges - Request to get price ranges");
 
         try {
-            List<Service> services = serviceService.findAll();
-            List<String> priceRanges = services.stream()
-                    .map(Service::getPrice)
-                    .distinct()
-                    .filter(price -> price != null && !price.isEmpty())
-                    .toList();
+            List<String> priceRanges = List.copyOf(facetService.facets().getServicePriceRanges().keySet());
 
             log.info("GET /api/v1/services/price-ranges - Success: Retrieved {} unique price ranges", priceRanges.size());
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.PRICE_RANGES_RETRIEVED, priceRanges));
@@ -164,29 +154,14 @@ public class ServiceController {
      * @return Service statistics data
      */
     @GetMapping("/statistics")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getServiceStatistics() {
+    public ResponseEntity<ApiResponse<Map<String, Long>>> getServiceStatistics() {
         log.info("GET /api/v1/services/statistics - Request to get service statistics");
 
         try {
-            List<Service> services = serviceService.findAll();
-
-            long totalServices = services.size();
-            long servicesWithFeatures = services.stream()
-                    .filter(service -> service.getFeatures() != null && !service.getFeatures().isEmpty())
-                    .count();
-            long servicesWithPrice = services.stream()
-                    .filter(service -> service.getPrice() != null && !service.getPrice().isEmpty())
-                    .count();
-
-            Map<String, Object> statistics = Map.of(
-                    "totalServices", totalServices,
-                    "servicesWithFeatures", servicesWithFeatures,
-                    "servicesWithPrice", servicesWithPrice,
-                    "uniquePriceRanges", services.stream().map(Service::getPrice).distinct().count()
-            );
+            Map<String, Long> statistics = statisticsService.serviceStatistics();
 
             log.info("GET /api/v1/services/statistics - Success: Stats calculated - Total: {}, WithFeatures: {}, WithPrice: {}",
-                    totalServices, servicesWithFeatures, servicesWithPrice);
+                    statistics.get("totalServices"), statistics.get("servicesWithFeatures"), statistics.get("servicesWithPrice"));
             return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.STATISTICS_RETRIEVED, statistics));
 
         } catch (Exception e) {
@@ -200,23 +175,18 @@ public class ServiceController {
      * Creates a new service
      *
      * @param service Service data to create
-     * @return Success message
+     * @return Created service with its generated ID
      */
     @PostMapping
-    public ResponseEntity<ApiResponse<String>> createService(@RequestBody Service service) {
+    public ResponseEntity<ApiResponse<Service>> createService(@RequestBody Service service) {
         log.info("POST /api/v1/services - Request to create service with title '{}'", service.getTitle());
 
         try {
-            int result = serviceService.create(service);
-            if (result > 0) {
-                log.info("POST /api/v1/services - {}: Created service with title '{}'",
-                        AppConstants.LogMessages.ENTITY_CREATED, service.getTitle());
-                return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.SERVICE_CREATED,
-                        "Created " + result + " record(s)"));
-            } else {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.error(AppConstants.Messages.ERROR_DATABASE_OPERATION));
-            }
+            Service createdService = serviceService.create(service);
+            log.info("POST /api/v1/services - {}: Created service with ID {} and title '{}'",
+                    AppConstants.LogMessages.ENTITY_CREATED, createdService.getId(), createdService.getTitle());
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.SERVICE_CREATED, createdService));
+
         } catch (Exception e) {
             log.error("POST /api/v1/services - Error creating service: {}", e.getMessage(), e);
             return ResponseEntity.badRequest()
@@ -224,6 +194,43 @@ public class ServiceController {
         }
     }
 
+    /**
+     * Bulk import from a JSON array of services. The body is streamed and written
+     * in batches of {@link AppConstants.Database#BATCH_SIZE}, so large imports stay flat in memory.
+     * Each batch is committed on its own: if an element is invalid or a batch fails,
+     * earlier batches stay saved and the error response carries their count.
+     *
+     * @param request Request whose body is a JSON array of service objects
+     * @return Number of services created
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> bulkCreateServices(HttpServletRequest request) {
+        log.info("POST /api/v1/services/bulk - Request to bulk import services");
+
+        try {
+            int created = JsonArrayStreamer.stream(objectMapper, request.getInputStream(), Service.class,
+                    AppConstants.Database.BATCH_SIZE,
+                    service -> JsonArrayStreamer.requireText(service.getTitle(), "title"),
+                    serviceService::createAll);
+            log.info("POST /api/v1/services/bulk - Success: Imported {} services", created);
+            return ResponseEntity.ok(ApiResponse.success(AppConstants.Messages.SUCCESS_BULK_CREATED,
+                    Map.of("created", created)));
+
+        } catch (JsonArrayStreamer.PartialImportException e) {
+            // Các lô trước đó đã được lưu, báo lại số lượng để client biết tiếp tục từ đâu
+            log.error("POST /api/v1/services/bulk - Import stopped after {} services: {}",
+                    e.getImported(), e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to import services after " + e.getImported()
+                            + " were saved: " + e.getMessage(), Map.of("created", e.getImported())));
+
+        } catch (Exception e) {
+            log.error("POST /api/v1/services/bulk - Error importing services: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to import services: " + e.getMessage()));
+        }
+    }
+
     /**
      * Updates an existing service
      *
@@ -12,4 +12,7 @@ public class ChatRequest {
     @Min(value = 1, message = "MaxResults phải lớn hơn 0")
     @Max(value = 20, message = "MaxResults không được vượt quá 20")
     private Integer maxResults = 5;
+
+    // Tuỳ chọn: giữ ngữ cảnh hội thoại giữa các câu hỏi
+    private String sessionId;
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package org.uvhnael.ktal.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Blog without its HTML content, for list views
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BlogListItem {
+    private Long id;
+    private String title;
+    private String slug;
+    private String author;
+    private String category;
+    private String thumbnail;
+    private String summary;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,13 @@
+package org.uvhnael.ktal.dto.response;
+
+import org.uvhnael.ktal.model.ChatTurn;
+
+import java.util.List;
+
+@lombok.Data
+@lombok.Builder
+public class ChatHistoryResponse {
+    private String sessionId;
+    private String summary;
+    private List<ChatTurn> turns;
+}
@@ -8,4 +8,5 @@ public class ChatResponse {
     private String query;
     private String answer;
     private List<BlogSummary> relatedBlogs;
+    private String sessionId;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package org.uvhnael.ktal.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Distinct filter values with their counts, for the front-end filter bar
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Facets {
+    private Map<String, Long> blogCategories;
+    private Map<String, Long> projectAreas;
+    private Map<Integer, Long> projectYears;      // mới nhất trước
+    private Map<String, Long> servicePriceRanges;
+}
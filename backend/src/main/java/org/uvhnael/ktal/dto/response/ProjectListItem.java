@@ -0,0 +1,26 @@
+package org.uvhnael.ktal.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Project without its HTML content, for list views
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectListItem {
+    private Long id;
+    private String title;
+    private String slug;
+    private String description;
+    private Integer year;
+    private String area;
+    private String thumbnail;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
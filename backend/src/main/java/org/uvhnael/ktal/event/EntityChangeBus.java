@@ -0,0 +1,71 @@
+package org.uvhnael.ktal.event;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.uvhnael.ktal.event.EntityChangedEvent.ChangeType;
+import org.uvhnael.ktal.event.EntityChangedEvent.EntityType;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Entry point for entity-change events. A published event is delivered to local
+ * {@code @EventListener}s right away and broadcast to the other instances, where it
+ * is re-published locally. Events this instance sent are ignored when they come back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EntityChangeBus {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvalidationTransport transport;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    public void init() {
+        transport.onReceive(this::onRemoteEvent);
+    }
+
+    public void publish(EntityType entityType, ChangeType changeType, Long id, String... slugs) {
+        publish(entityType, changeType, id, Map.of(), Map.of(), slugs);
+    }
+
+    /**
+     * @param before dimension values before the write, empty on create or when unknown
+     * @param after  dimension values after the write, empty on delete
+     */
+    public void publish(EntityType entityType, ChangeType changeType, Long id,
+                        Map<String, String> before, Map<String, String> after, String... slugs) {
+        EntityChangedEvent event = new EntityChangedEvent(entityType, changeType, id,
+                Arrays.stream(slugs).filter(Objects::nonNull).distinct().toList(), before, after, nodeId);
+        eventPublisher.publishEvent(event);
+        try {
+            transport.send(event);
+        } catch (Exception e) {
+            // Node khác sẽ tự hết hạn cache theo TTL
+            log.warn("Failed to broadcast {}: {}", event, e.getMessage());
+        }
+    }
+
+    /**
+     * Id of this instance, as carried in {@link EntityChangedEvent#origin()}
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void onRemoteEvent(EntityChangedEvent event) {
+        if (nodeId.equals(event.origin())) {
+            return;
+        }
+        log.debug("Received remote change event: {}", event);
+        eventPublisher.publishEvent(event);
+    }
+}
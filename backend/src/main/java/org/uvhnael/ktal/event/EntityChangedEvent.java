@@ -0,0 +1,34 @@
+package org.uvhnael.ktal.event;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A write to a content entity. Published locally as a Spring application event
+ * and broadcast to the other backend instances through the {@link InvalidationTransport}.
+ *
+ * @param id     id of the changed entity
+ * @param slugs  slugs the change affects; on create/update the first one is the current
+ *               slug and the rest are stale (old slug on a rename); may be empty
+ * @param before dimension values before the write (empty on create), see {@link EntityDimensions}
+ * @param after  dimension values after the write (empty on delete)
+ * @param origin id of the instance that made the write
+ */
+public record EntityChangedEvent(EntityType entityType, ChangeType changeType, Long id,
+                                 List<String> slugs, Map<String, String> before,
+                                 Map<String, String> after, String origin) {
+
+    public enum EntityType {
+        BLOG, PROJECT, SERVICE, CONTACT
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    public EntityChangedEvent {
+        slugs = slugs != null ? List.copyOf(slugs) : List.of();
+        before = before != null ? Map.copyOf(before) : Map.of();
+        after = after != null ? Map.copyOf(after) : Map.of();
+    }
+}
@@ -0,0 +1,57 @@
+package org.uvhnael.ktal.event;
+
+import org.uvhnael.ktal.model.Blog;
+import org.uvhnael.ktal.model.Contact;
+import org.uvhnael.ktal.model.Project;
+import org.uvhnael.ktal.model.Service;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Attribute values of an entity that change-event listeners aggregate on
+ * (e.g. dashboard counters). Missing values are the empty string so the maps
+ * can be copied and serialized without nulls.
+ */
+public final class EntityDimensions {
+
+    public static final String STATUS = "status";
+    public static final String CATEGORY = "category";
+    public static final String AREA = "area";
+    public static final String YEAR = "year";
+    public static final String FEATURES = "features";
+    public static final String SERVICE = "service";
+    public static final String HANDLER = "handler";
+
+    public static final Set<String> NAMES = Set.of(STATUS, CATEGORY, AREA, YEAR, FEATURES, SERVICE, HANDLER);
+
+    // Giá trị của FEATURES
+    public static final String WITH_FEATURES = "yes";
+    public static final String WITHOUT_FEATURES = "no";
+
+    private EntityDimensions() {
+    }
+
+    public static Map<String, String> of(Blog blog) {
+        return Map.of(STATUS, value(blog.getStatus()), CATEGORY, value(blog.getCategory()));
+    }
+
+    public static Map<String, String> of(Project project) {
+        return Map.of(STATUS, value(project.getStatus()), AREA, value(project.getArea()),
+                YEAR, value(project.getYear()));
+    }
+
+    public static Map<String, String> of(Service service) {
+        boolean hasFeatures = service.getFeatures() != null && !service.getFeatures().isEmpty();
+        return Map.of(FEATURES, hasFeatures ? WITH_FEATURES : WITHOUT_FEATURES);
+    }
+
+    public static Map<String, String> of(Contact contact) {
+        return Map.of(STATUS, value(contact.getStatus()), SERVICE, value(contact.getServiceId()),
+                HANDLER, value(contact.getHandledBy()));
+    }
+
+    private static String value(Object value) {
+        return value != null ? value.toString() : "";
+    }
+}
@@ -0,0 +1,41 @@
+package org.uvhnael.ktal.event;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers events to every listener in the same JVM. With a single instance this is
+ * all that is needed; in tests, several application contexts started in one JVM act
+ * as separate nodes sharing this bus.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "jvm", matchIfMissing = true)
+public class InJvmInvalidationTransport implements InvalidationTransport {
+
+    // Dùng chung cho cả JVM, không theo từng bean
+    private static final List<Consumer<EntityChangedEvent>> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<EntityChangedEvent>> ownListeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(EntityChangedEvent event) {
+        LISTENERS.forEach(listener -> listener.accept(event));
+    }
+
+    @Override
+    public void onReceive(Consumer<EntityChangedEvent> listener) {
+        ownListeners.add(listener);
+        LISTENERS.add(listener);
+    }
+
+    @PreDestroy
+    public void close() {
+        LISTENERS.removeAll(ownListeners);
+        ownListeners.clear();
+    }
+}
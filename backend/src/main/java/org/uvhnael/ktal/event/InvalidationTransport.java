@@ -0,0 +1,20 @@
+package org.uvhnael.ktal.event;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link EntityChangedEvent}s between backend instances.
+ * Delivery is best effort: a lost event only means a cache entry lives until its TTL.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Broadcast an event to every instance, possibly including this one
+     */
+    void send(EntityChangedEvent event);
+
+    /**
+     * Register the handler for events received from any instance
+     */
+    void onReceive(Consumer<EntityChangedEvent> listener);
+}
@@ -0,0 +1,221 @@
+package org.uvhnael.ktal.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Sends each event as one JSON datagram to a fixed list of peers and listens for
+ * theirs on a local UDP port. No broker is needed: every instance lists the
+ * others in {@code cache.invalidation.udp.peers}.
+ * <p>
+ * The socket binds to {@code cache.invalidation.udp.bind-address} only. A packet
+ * is accepted when its source address is one of the peers and it carries a valid
+ * HMAC-SHA256 of {@code cache.invalidation.udp.secret}; it must also be recent
+ * and not seen before, so a captured packet cannot be replayed.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "udp")
+@Slf4j
+public class UdpInvalidationTransport implements InvalidationTransport {
+
+    private static final int MAX_PACKET_BYTES = 8192;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_BYTES = 32;
+    // MAC + thời điểm gửi (epoch millis)
+    private static final int HEADER_BYTES = MAC_BYTES + Long.BYTES;
+    private static final Duration MAX_AGE = Duration.ofSeconds(30);
+    private static final int MIN_SECRET_BYTES = 16;
+
+    private final ObjectMapper objectMapper;
+    private final String bindAddress;
+    private final int port;
+    private final List<InetSocketAddress> peers;
+    private final Set<InetAddress> peerAddresses;
+    private final SecretKeySpec key;
+    private final List<Consumer<EntityChangedEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    // MAC của các gói đã nhận trong MAX_AGE gần nhất, chống phát lại
+    private final Cache<ByteBuffer, Boolean> seen = Caffeine.newBuilder()
+            .expireAfterWrite(MAX_AGE.multipliedBy(2))
+            .maximumSize(100_000)
+            .build();
+
+    private DatagramSocket socket;
+
+    public UdpInvalidationTransport(ObjectMapper objectMapper,
+                                    @Value("${cache.invalidation.udp.bind-address:127.0.0.1}") String bindAddress,
+                                    @Value("${cache.invalidation.udp.port:47100}") int port,
+                                    @Value("${cache.invalidation.udp.peers:}") String peers,
+                                    @Value("${cache.invalidation.udp.secret:}") String secret) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("cache.invalidation.udp.secret must be at least "
+                    + MIN_SECRET_BYTES + " bytes when the UDP transport is enabled");
+        }
+        this.objectMapper = objectMapper;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.peers = parsePeers(peers);
+        this.peerAddresses = this.peers.stream().map(InetSocketAddress::getAddress).collect(Collectors.toSet());
+        this.key = new SecretKeySpec(secretBytes, HMAC_ALGORITHM);
+    }
+
+    @PostConstruct
+    public void start() throws SocketException {
+        socket = new DatagramSocket(new InetSocketAddress(bindAddress, port));
+        Thread.ofVirtual().name("invalidation-udp").start(this::receiveLoop);
+        log.info("UDP invalidation transport listening on {}, {} peer(s)", socket.getLocalSocketAddress(), peers.size());
+    }
+
+    @Override
+    public void send(EntityChangedEvent event) {
+        try {
+            byte[] packet = seal(objectMapper.writeValueAsBytes(event), System.currentTimeMillis());
+            if (packet.length > MAX_PACKET_BYTES) {
+                log.warn("Invalidation event too large to send ({} bytes): {}", packet.length, event);
+                return;
+            }
+            for (InetSocketAddress peer : peers) {
+                socket.send(new DatagramPacket(packet, packet.length, peer));
+            }
+        } catch (IOException e) {
+            log.warn("Failed to broadcast invalidation event {}: {}", event, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onReceive(Consumer<EntityChangedEvent> listener) {
+        listeners.add(listener);
+    }
+
+    public int getLocalPort() {
+        return socket.getLocalPort();
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[MAX_PACKET_BYTES];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                if (!peerAddresses.contains(packet.getAddress())) {
+                    log.warn("Dropped invalidation packet from unknown sender {}", packet.getSocketAddress());
+                    continue;
+                }
+                byte[] payload = open(packet);
+                if (payload == null) {
+                    continue;
+                }
+                EntityChangedEvent event = objectMapper.readValue(payload, EntityChangedEvent.class);
+                listeners.forEach(listener -> listener.accept(event));
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("Dropped invalidation packet: {}", e.getMessage());
+                }
+            } catch (Exception e) {
+                log.error("Error handling invalidation event: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * MAC(sentAt + payload) | sentAt | payload
+     */
+    private byte[] seal(byte[] payload, long sentAt) {
+        ByteBuffer packet = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        packet.position(MAC_BYTES);
+        packet.putLong(sentAt).put(payload);
+        packet.position(0);
+        packet.put(mac(packet.array(), MAC_BYTES, packet.capacity() - MAC_BYTES));
+        return packet.array();
+    }
+
+    /**
+     * Payload of a correctly signed, fresh, first-seen packet, or null
+     */
+    private byte[] open(DatagramPacket packet) {
+        if (packet.getLength() <= HEADER_BYTES) {
+            log.warn("Dropped truncated invalidation packet from {}", packet.getSocketAddress());
+            return null;
+        }
+        byte[] data = Arrays.copyOfRange(packet.getData(), packet.getOffset(), packet.getOffset() + packet.getLength());
+        byte[] expected = mac(data, MAC_BYTES, data.length - MAC_BYTES);
+        byte[] actual = Arrays.copyOf(data, MAC_BYTES);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            log.warn("Dropped invalidation packet with bad signature from {}", packet.getSocketAddress());
+            return null;
+        }
+        long sentAt = ByteBuffer.wrap(data, MAC_BYTES, Long.BYTES).getLong();
+        if (Math.abs(System.currentTimeMillis() - sentAt) > MAX_AGE.toMillis()) {
+            log.warn("Dropped stale invalidation packet from {}", packet.getSocketAddress());
+            return null;
+        }
+        if (seen.asMap().putIfAbsent(ByteBuffer.wrap(actual), Boolean.TRUE) != null) {
+            log.warn("Dropped replayed invalidation packet from {}", packet.getSocketAddress());
+            return null;
+        }
+        return Arrays.copyOfRange(data, HEADER_BYTES, data.length);
+    }
+
+    private byte[] mac(byte[] data, int offset, int length) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(data, offset, length);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC unavailable", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (socket != null) {
+            socket.close();
+        }
+    }
+
+    private static List<InetSocketAddress> parsePeers(String peers) {
+        List<InetSocketAddress> result = new ArrayList<>();
+        for (String peer : peers.split(",")) {
+            String trimmed = peer.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int colon = trimmed.lastIndexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Invalid peer (expected host:port): " + trimmed);
+            }
+            result.add(new InetSocketAddress(trimmed.substring(0, colon), Integer.parseInt(trimmed.substring(colon + 1))));
+        }
+        return result;
+    }
+}
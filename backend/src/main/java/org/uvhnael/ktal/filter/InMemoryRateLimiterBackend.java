@@ -0,0 +1,81 @@
+package org.uvhnael.ktal.filter;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-instance token buckets.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the "theoretical arrival time"
+ * of the next request (GCRA, equivalent to a token bucket of size
+ * {@code permitsPerMinute}), so acquiring is one CAS without locks. Buckets are
+ * spread over independent maps by key hash so hot clients do not contend with
+ * each other on the same map segment or during cleanup.
+ */
+@Component
+@ConditionalOnProperty(name = "ratelimit.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimiterBackend implements RateLimiterBackend {
+
+    private static final int STRIPES = 16;
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes = new ConcurrentHashMap[STRIPES];
+    private final LongSupplier nanoClock;
+
+    public InMemoryRateLimiterBackend() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock Source of {@link System#nanoTime()}-style readings; replaced in tests
+     */
+    InMemoryRateLimiterBackend(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    @Override
+    public long tryAcquire(String key, int permitsPerMinute) {
+        long interval = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+        long burstTolerance = interval * (permitsPerMinute - 1);
+        AtomicLong bucket = stripeFor(key).computeIfAbsent(key, k -> new AtomicLong(nanoClock.getAsLong()));
+
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long tat = bucket.get();
+            long start = Math.max(tat, now);
+            long wait = start - burstTolerance - now;
+            if (wait > 0) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(wait));
+            }
+            if (bucket.compareAndSet(tat, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drop buckets that have been full for a while, one stripe at a time
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.cleanup-interval-ms:60000}")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            stripe.values().removeIf(bucket -> now - bucket.get() > IDLE_NANOS);
+        }
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+}
@@ -0,0 +1,121 @@
+package org.uvhnael.ktal.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.uvhnael.ktal.constants.AppConstants;
+import org.uvhnael.ktal.dto.response.ApiResponse;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Per-client rate limit for the expensive endpoints: chat (LLM + embedding),
+ * search and file upload. Clients are identified by API key when the key is
+ * one of {@code ratelimit.api-keys}, otherwise by IP address; unknown keys are
+ * ignored so a client cannot get a fresh bucket by sending a new header value.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiterBackend rateLimiterBackend;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ratelimit.chat-per-minute:" + AppConstants.RateLimit.CHAT_REQUESTS_PER_MINUTE + "}")
+    private int chatPerMinute;
+
+    @Value("${ratelimit.search-per-minute:" + AppConstants.RateLimit.SEARCH_REQUESTS_PER_MINUTE + "}")
+    private int searchPerMinute;
+
+    @Value("${ratelimit.upload-per-minute:" + AppConstants.RateLimit.FILE_UPLOAD_REQUESTS_PER_MINUTE + "}")
+    private int uploadPerMinute;
+
+    @Value("${ratelimit.api-keys:}")
+    private Set<String> apiKeys;
+
+    // Chỉ bật khi chạy sau reverse proxy tin cậy
+    @Value("${ratelimit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || category(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String category = category(request);
+        int limit = switch (category) {
+            case "chat" -> chatPerMinute;
+            case "upload" -> uploadPerMinute;
+            default -> searchPerMinute;
+        };
+
+        long waitMillis = rateLimiterBackend.tryAcquire(category + ":" + clientKey(request), limit);
+        if (waitMillis == 0) {
+            meterRegistry.counter("ratelimit.requests", "category", category, "outcome", "allowed").increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        meterRegistry.counter("ratelimit.requests", "category", category, "outcome", "rejected").increment();
+        log.warn("Rate limit exceeded - {} {} ({}), retry in {} ms",
+                request.getMethod(), request.getRequestURI(), category, waitMillis);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((waitMillis + 999) / 1000));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), ApiResponse.error(AppConstants.Messages.ERROR_RATE_LIMITED));
+    }
+
+    /**
+     * Limit category of the request, or null when the endpoint is not limited
+     */
+    private String category(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/v1/chat/") && "POST".equals(request.getMethod())) {
+            return "chat";
+        }
+        if (uri.startsWith("/api/v1/files/upload")) {
+            return "upload";
+        }
+        if ("GET".equals(request.getMethod())
+                && (uri.endsWith("/search") || request.getParameter("search") != null)) {
+            return "search";
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(AppConstants.RateLimit.API_KEY_HEADER);
+        if (apiKey != null && !apiKey.isBlank() && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                return "ip:" + forwardedFor.split(",")[0].trim();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,19 @@
+package org.uvhnael.ktal.filter;
+
+/**
+ * Storage for rate-limit buckets. The only implementation is
+ * {@link InMemoryRateLimiterBackend} ({@code ratelimit.backend=memory}), so
+ * limits are per instance. A store shared across instances would implement
+ * this interface and register under another {@code ratelimit.backend} value.
+ */
+public interface RateLimiterBackend {
+
+    /**
+     * Try to take one token from the bucket identified by {@code key}.
+     *
+     * @param key               Bucket key (category + client)
+     * @param permitsPerMinute  Sustained rate; also the burst size
+     * @return 0 when the request is allowed, otherwise milliseconds until a token is available
+     */
+    long tryAcquire(String key, int permitsPerMinute);
+}
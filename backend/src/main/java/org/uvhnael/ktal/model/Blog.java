@@ -1,9 +1,12 @@
 package org.uvhnael.ktal.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -15,7 +18,12 @@ public class Blog {
     private String category;
     private String thumbnail;
     private String content;
+    @JsonIgnore
+    private String plainText;   // content đã bỏ HTML, tính lúc ghi
+    private String summary;
+    @JsonIgnore
+    private String contentHash;
     private String status;
-    private String createdAt;
-    private String updatedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 }
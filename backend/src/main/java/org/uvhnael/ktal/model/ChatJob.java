@@ -0,0 +1,28 @@
+package org.uvhnael.ktal.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.uvhnael.ktal.dto.response.DetailedChatResponse;
+
+@Data
+@NoArgsConstructor
+public class ChatJob {
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    private String id;
+    private String query;
+    private volatile Status status = Status.QUEUED;
+    private volatile DetailedChatResponse result;
+    private volatile String error;
+    private long createdAt;
+    private volatile long finishedAt;
+
+    public ChatJob(String id, String query) {
+        this.id = id;
+        this.query = query;
+        this.createdAt = System.currentTimeMillis();
+    }
+}
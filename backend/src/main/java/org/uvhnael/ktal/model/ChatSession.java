@@ -0,0 +1,31 @@
+package org.uvhnael.ktal.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.uvhnael.ktal.service.MilvusService.SimilarityResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ChatSession {
+    private String id;
+    private String summary = "";                 // tóm tắt các lượt cũ đã ra khỏi cửa sổ gần đây
+    private List<ChatTurn> turns = new ArrayList<>(); // cũ nhất trước
+    private long createdAt;
+    private long lastAccessedAt;
+
+    // Kết quả retrieval của lượt trước, chỉ giữ trong bộ nhớ
+    @JsonIgnore
+    private float[] lastQueryEmbedding;
+    @JsonIgnore
+    private List<SimilarityResult> lastHits;
+
+    public ChatSession(String id) {
+        this.id = id;
+        this.createdAt = System.currentTimeMillis();
+        this.lastAccessedAt = this.createdAt;
+    }
+}
@@ -0,0 +1,14 @@
+package org.uvhnael.ktal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChatTurn {
+    private String query;
+    private String answer;
+    private long createdAt;
+}
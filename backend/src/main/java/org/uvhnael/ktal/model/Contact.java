@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -17,6 +19,6 @@ public class Contact {
     private String status;
     private String note;
     private String handledBy;
-    private String handledAt;
-    private String createdAt;
+    private LocalDateTime handledAt;
+    private LocalDateTime createdAt;
 }
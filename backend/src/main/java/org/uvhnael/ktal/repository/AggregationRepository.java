@@ -0,0 +1,218 @@
+package org.uvhnael.ktal.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.uvhnael.ktal.constants.AppConstants;
+
+import java.sql.ResultSetMetaData;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts and distributions for the dashboard and statistics endpoints, computed
+ * with COUNT/SUM/GROUP BY in MySQL. Each method is a single round-trip: scalar
+ * counts are conditional sums over one table, distributions are GROUP BYs
+ * joined with UNION ALL. Status comparisons rely on the case-insensitive column collation.
+ */
+@Repository
+public class AggregationRepository {
+
+    // Đếm cả NULL là một giá trị riêng, giống distinct() trên Java
+    private static final String DISTINCT_WITH_NULL = "COUNT(DISTINCT %1$s) + COALESCE(MAX(%1$s IS NULL), 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AggregationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Headline blog counts of the dashboard overview. The overview is split per
+     * table so the four queries can run in parallel.
+     */
+    public Map<String, Long> blogOverview() {
+        String sql = "SELECT COUNT(*) AS totalBlogs, " +
+                "COALESCE(SUM(status = ?), 0) AS publishedBlogs, " +
+                "COALESCE(SUM(status = ?), 0) AS draftBlogs " +
+                "FROM blog";
+        return counts(sql, AppConstants.EntityStatus.PUBLISHED, AppConstants.EntityStatus.DRAFT);
+    }
+
+    public Map<String, Long> projectOverview() {
+        String sql = "SELECT COUNT(*) AS totalProjects, " +
+                "COALESCE(SUM(status = ?), 0) AS activeProjects, " +
+                "COALESCE(SUM(status = ?), 0) AS completedProjects " +
+                "FROM project";
+        return counts(sql, AppConstants.EntityStatus.ACTIVE, AppConstants.EntityStatus.COMPLETED);
+    }
+
+    public Map<String, Long> serviceOverview() {
+        String sql = "SELECT COUNT(*) AS totalServices, " +
+                "COALESCE(SUM(features IS NOT NULL AND features <> ''), 0) AS servicesWithFeatures " +
+                "FROM service";
+        return counts(sql);
+    }
+
+    public Map<String, Long> contactOverview() {
+        String sql = "SELECT COUNT(*) AS totalContacts, " +
+                "COALESCE(SUM(status = ?), 0) AS pendingContacts, " +
+                "COALESCE(SUM(status = ?), 0) AS handledContacts " +
+                "FROM contact";
+        return counts(sql, AppConstants.EntityStatus.PENDING, AppConstants.EntityStatus.HANDLED);
+    }
+
+    public Map<String, Long> blogStatistics() {
+        String sql = "SELECT COUNT(*) AS totalBlogs, " +
+                "COALESCE(SUM(status = ?), 0) AS publishedBlogs, " +
+                "COALESCE(SUM(status = ?), 0) AS draftBlogs, " +
+                String.format(DISTINCT_WITH_NULL, "category") + " AS categories " +
+                "FROM blog";
+        return counts(sql, AppConstants.EntityStatus.PUBLISHED, AppConstants.EntityStatus.DRAFT);
+    }
+
+    public Map<String, Long> projectStatistics() {
+        String sql = "SELECT COUNT(*) AS totalProjects, " +
+                "COALESCE(SUM(status = ?), 0) AS activeProjects, " +
+                "COALESCE(SUM(status = ?), 0) AS completedProjects, " +
+                String.format(DISTINCT_WITH_NULL, "area") + " AS uniqueAreas, " +
+                String.format(DISTINCT_WITH_NULL, "year") + " AS uniqueYears " +
+                "FROM project";
+        return counts(sql, AppConstants.EntityStatus.ACTIVE, AppConstants.EntityStatus.COMPLETED);
+    }
+
+    public Map<String, Long> contactStatistics() {
+        String sql = "SELECT COUNT(*) AS totalContacts, " +
+                "COALESCE(SUM(status = ?), 0) AS pendingContacts, " +
+                "COALESCE(SUM(status = ?), 0) AS handledContacts, " +
+                "COALESCE(SUM(status = ?), 0) AS closedContacts, " +
+                String.format(DISTINCT_WITH_NULL, "service_id") + " AS uniqueServices " +
+                "FROM contact";
+        return counts(sql, AppConstants.EntityStatus.PENDING, AppConstants.EntityStatus.HANDLED,
+                AppConstants.EntityStatus.CLOSED);
+    }
+
+    public Map<String, Long> serviceStatistics() {
+        String sql = "SELECT COUNT(*) AS totalServices, " +
+                "COALESCE(SUM(features IS NOT NULL AND features <> ''), 0) AS servicesWithFeatures, " +
+                "COALESCE(SUM(price IS NOT NULL AND price <> ''), 0) AS servicesWithPrice, " +
+                String.format(DISTINCT_WITH_NULL, "price") + " AS uniquePriceRanges " +
+                "FROM service";
+        return counts(sql);
+    }
+
+    /**
+     * Blogs by category, projects by area and projects by year.
+     *
+     * @return dimension ("category", "area", "year") -> value -> count
+     */
+    public Map<String, Map<String, Long>> contentDistributions() {
+        String sql = "SELECT 'category', category, COUNT(*) FROM blog " +
+                "WHERE category IS NOT NULL AND category <> '' GROUP BY category " +
+                "UNION ALL " +
+                "SELECT 'area', area, COUNT(*) FROM project " +
+                "WHERE area IS NOT NULL AND area <> '' GROUP BY area " +
+                "UNION ALL " +
+                "SELECT 'year', CAST(year AS CHAR), COUNT(*) FROM project " +
+                "WHERE year IS NOT NULL GROUP BY year";
+        return distributions(sql);
+    }
+
+    /**
+     * Distinct filter values and their counts: blog categories, project areas,
+     * project years and service prices. Empty values are left out.
+     *
+     * @return dimension ("category", "area", "year", "price") -> value -> count
+     */
+    public Map<String, Map<String, Long>> facetDistributions() {
+        String sql = "SELECT 'category', category, COUNT(*) FROM blog " +
+                "WHERE category IS NOT NULL AND category <> '' GROUP BY category " +
+                "UNION ALL " +
+                "SELECT 'area', area, COUNT(*) FROM project " +
+                "WHERE area IS NOT NULL AND area <> '' GROUP BY area " +
+                "UNION ALL " +
+                "SELECT 'year', CAST(year AS CHAR), COUNT(*) FROM project " +
+                "WHERE year IS NOT NULL GROUP BY year " +
+                "UNION ALL " +
+                "SELECT 'price', price, COUNT(*) FROM service " +
+                "WHERE price IS NOT NULL AND price <> '' GROUP BY price";
+        return distributions(sql);
+    }
+
+    /**
+     * Contacts by status, by service title and by handler. Contacts whose service
+     * no longer exists are grouped under {@code unknownService}.
+     *
+     * @return dimension ("status", "service", "handler") -> value -> count
+     */
+    public Map<String, Map<String, Long>> contactDistributions(String unknownService) {
+        String sql = "SELECT 'status', status, COUNT(*) FROM contact " +
+                "WHERE status IS NOT NULL AND status <> '' GROUP BY status " +
+                "UNION ALL " +
+                "SELECT 'service', COALESCE(s.title, ?), COUNT(*) FROM contact c " +
+                "LEFT JOIN service s ON s.id = c.service_id " +
+                "WHERE c.service_id IS NOT NULL GROUP BY c.service_id, s.title " +
+                "UNION ALL " +
+                "SELECT 'handler', CAST(handled_by AS CHAR), COUNT(*) FROM contact " +
+                "WHERE handled_by IS NOT NULL GROUP BY handled_by";
+        return distributions(sql, unknownService);
+    }
+
+    /**
+     * Every counter kept by the in-memory dashboard counters, used to seed and
+     * reconcile them. Missing values are reported as the empty string.
+     *
+     * @return "entity.dimension" (or "entity.total") -> value -> count
+     */
+    public Map<String, Map<String, Long>> dimensionCounts() {
+        String sql = "SELECT 'blog.total', '', COUNT(*) FROM blog " +
+                "UNION ALL " +
+                "SELECT 'blog.status', COALESCE(status, ''), COUNT(*) FROM blog GROUP BY status " +
+                "UNION ALL " +
+                "SELECT 'blog.category', COALESCE(category, ''), COUNT(*) FROM blog GROUP BY category " +
+                "UNION ALL " +
+                "SELECT 'project.total', '', COUNT(*) FROM project " +
+                "UNION ALL " +
+                "SELECT 'project.status', COALESCE(status, ''), COUNT(*) FROM project GROUP BY status " +
+                "UNION ALL " +
+                "SELECT 'project.area', COALESCE(area, ''), COUNT(*) FROM project GROUP BY area " +
+                "UNION ALL " +
+                "SELECT 'project.year', COALESCE(CAST(year AS CHAR), ''), COUNT(*) FROM project GROUP BY year " +
+                "UNION ALL " +
+                "SELECT 'service.total', '', COUNT(*) FROM service " +
+                "UNION ALL " +
+                "SELECT 'service.features', IF(features IS NOT NULL AND features <> '', 'yes', 'no'), COUNT(*) " +
+                "FROM service GROUP BY 2 " +
+                "UNION ALL " +
+                "SELECT 'contact.total', '', COUNT(*) FROM contact " +
+                "UNION ALL " +
+                "SELECT 'contact.status', COALESCE(status, ''), COUNT(*) FROM contact GROUP BY status " +
+                "UNION ALL " +
+                "SELECT 'contact.service', COALESCE(CAST(service_id AS CHAR), ''), COUNT(*) FROM contact GROUP BY service_id " +
+                "UNION ALL " +
+                "SELECT 'contact.handler', COALESCE(CAST(handled_by AS CHAR), ''), COUNT(*) FROM contact GROUP BY handled_by";
+        return distributions(sql);
+    }
+
+    private Map<String, Long> counts(String sql, Object... args) {
+        return jdbcTemplate.query(sql, rs -> {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            if (rs.next()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    counts.put(meta.getColumnLabel(i), rs.getLong(i));
+                }
+            }
+            return counts;
+        }, args);
+    }
+
+    private Map<String, Map<String, Long>> distributions(String sql, Object... args) {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            // Hai service khác id có thể trùng tên -> cộng dồn
+            result.computeIfAbsent(rs.getString(1), k -> new LinkedHashMap<>())
+                    .merge(rs.getString(2), rs.getLong(3), Long::sum);
+        }, args);
+        return result;
+    }
+}
@@ -1,39 +1,281 @@
 package org.uvhnael.ktal.repository;
 
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.uvhnael.ktal.constants.AppConstants;
+import org.uvhnael.ktal.dto.response.CursorPageResponse;
+import org.uvhnael.ktal.dto.response.PageResponse;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Common CRUD queries. Each repository passes its explicit column list and a
+ * row mapper that reads those columns by index, so no query depends on
+ * {@code SELECT *} column order or reflective name matching.
+ */
 public abstract class BaseRepository<T> {
 
     protected final JdbcTemplate jdbcTemplate;
-    private final Class<T> type;
-    private final String tableName;
+    protected final String tableName;
+    protected final String columns;
+    protected final RowMapper<T> rowMapper;
 
-    public BaseRepository(JdbcTemplate jdbcTemplate, Class<T> type, String tableName) {
+    public BaseRepository(JdbcTemplate jdbcTemplate, String tableName, String columns, RowMapper<T> rowMapper) {
         this.jdbcTemplate = jdbcTemplate;
-        this.type = type;
         this.tableName = tableName;
+        this.columns = columns;
+        this.rowMapper = rowMapper;
     }
 
     public List<T> findAll() {
-        String sql = "SELECT * FROM " + tableName;
-        return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(type));
+        String sql = selectFrom();
+        return jdbcTemplate.query(sql, rowMapper);
     }
 
     public Optional<T> findById(Long id) {
-        String sql = "SELECT * FROM " + tableName + " WHERE id = ?";
-        List<T> results = jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(type), id);
+        String sql = selectFrom() + " WHERE id = ?";
+        List<T> results = jdbcTemplate.query(sql, rowMapper, id);
         return results.stream().findFirst();
     }
 
+    /**
+     * Passes every row to {@code consumer} as it is read instead of collecting a list
+     */
+    public void forEach(Consumer<T> consumer) {
+        jdbcTemplate.query(selectFrom(), (RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow())));
+    }
+
+    /**
+     * Rows with the given ids, reading only {@code selectColumns}, in the order of
+     * {@code ids}; ids without a row are skipped
+     */
+    protected <R> List<R> findByIds(String selectColumns, RowMapper<R> mapper, List<Long> ids, Function<R, Long> idOf) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        QueryFilter filter = QueryFilter.create().in("id", ids);
+        Map<Long, R> byId = jdbcTemplate.query(selectFrom(selectColumns) + filter.toSql(), mapper, filter.getArgs().toArray())
+                .stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * One page of rows matching {@code filter}, plus the total match count.
+     * Filtering, ordering and paging all run in SQL.
+     */
+    public PageResponse<T> findPage(QueryFilter filter, int page, int size) {
+        return findPage(columns, rowMapper, filter, page, size);
+    }
+
+    /**
+     * Same as {@link #findPage(QueryFilter, int, int)} but reading only {@code selectColumns},
+     * e.g. a list projection without the heavy content column
+     */
+    protected <R> PageResponse<R> findPage(String selectColumns, RowMapper<R> mapper,
+                                           QueryFilter filter, int page, int size) {
+        String where = filter.toSql();
+        Object[] args = filter.getArgs().toArray();
+
+        long total = count(filter);
+        if (total == 0 || (long) page * size >= total) {
+            return PageResponse.of(List.of(), page, size, total);
+        }
+
+        String sql = selectFrom(selectColumns) + where + " ORDER BY " + defaultOrderBy() + " LIMIT ? OFFSET ?";
+        Object[] pageArgs = Arrays.copyOf(args, args.length + 2);
+        pageArgs[args.length] = size;
+        pageArgs[args.length + 1] = (long) page * size;
+        List<R> content = jdbcTemplate.query(sql, mapper, pageArgs);
+        return PageResponse.of(content, page, size, total);
+    }
+
+    /**
+     * Keyset page in (created_at DESC, id DESC) order, newest first. The cost
+     * does not grow with depth: each page is an index range scan starting at the cursor.
+     *
+     * @param cursor      nextCursor of the previous page, or null for the first page
+     * @param createdAtOf created_at of a row, used to build the next cursor
+     * @param idOf        id of a row, used to build the next cursor
+     */
+    protected <R> CursorPageResponse<R> findAfter(String selectColumns, RowMapper<R> mapper,
+                                                  QueryFilter filter, String cursor, int size,
+                                                  Function<R, LocalDateTime> createdAtOf, Function<R, Long> idOf) {
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            // MySQL xếp NULL sau cùng khi DESC: dòng chưa có created_at nằm sau mọi dòng có ngày
+            if (after.createdAt() == null) {
+                filter.where("(created_at IS NULL AND id < ?)", after.id());
+            } else {
+                filter.where("(created_at < ? OR (created_at = ? AND id < ?) OR created_at IS NULL)",
+                        after.createdAt(), after.createdAt(), after.id());
+            }
+        }
+
+        // Lấy thêm 1 dòng để biết còn trang sau hay không
+        String sql = selectFrom(selectColumns) + filter.toSql() + " ORDER BY created_at DESC, id DESC LIMIT ?";
+        List<Object> args = new ArrayList<>(filter.getArgs());
+        args.add(size + 1);
+        List<R> rows = jdbcTemplate.query(sql, mapper, args.toArray());
+
+        if (rows.size() <= size) {
+            return CursorPageResponse.of(rows, size, null);
+        }
+        List<R> content = rows.subList(0, size);
+        R last = content.get(size - 1);
+        String nextCursor = new KeysetCursor(createdAtOf.apply(last), idOf.apply(last)).encode();
+        return CursorPageResponse.of(content, size, nextCursor);
+    }
+
+    /**
+     * The {@code limit} newest rows, read backwards from the (created_at, id)
+     * index so only those rows are touched instead of sorting the table
+     */
+    protected <R> List<R> findRecent(String selectColumns, RowMapper<R> mapper, int limit) {
+        String sql = selectFrom(selectColumns) + " ORDER BY created_at DESC, id DESC LIMIT ?";
+        return jdbcTemplate.query(sql, mapper, limit);
+    }
+
+    /**
+     * All rows matching {@code filter}, newest first, reading only {@code selectColumns}
+     */
+    protected <R> List<R> findList(String selectColumns, RowMapper<R> mapper, QueryFilter filter) {
+        String sql = selectFrom(selectColumns) + filter.toSql() + " ORDER BY created_at DESC, id DESC";
+        return jdbcTemplate.query(sql, mapper, filter.getArgs().toArray());
+    }
+
+    /**
+     * First {@code limit} rows matching {@code filter} in the default order, without
+     * the COUNT(*) that {@link #findPage} runs for the total
+     */
+    protected <R> List<R> findList(String selectColumns, RowMapper<R> mapper, QueryFilter filter, int limit) {
+        String sql = selectFrom(selectColumns) + filter.toSql() + " ORDER BY " + defaultOrderBy() + " LIMIT ?";
+        List<Object> args = new ArrayList<>(filter.getArgs());
+        args.add(limit);
+        return jdbcTemplate.query(sql, mapper, args.toArray());
+    }
+
+    public long count(QueryFilter filter) {
+        String sql = "SELECT COUNT(*) FROM " + tableName + filter.toSql();
+        Long total = jdbcTemplate.queryForObject(sql, Long.class, filter.getArgs().toArray());
+        return total != null ? total : 0;
+    }
+
+    /**
+     * Run a single-row INSERT and return the generated id from the same statement,
+     * without a second {@code SELECT LAST_INSERT_ID()} round-trip.
+     */
+    protected Long insert(String sql, Object[] args) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            bind(ps, args);
+            return ps;
+        }, keyHolder);
+        Number key = keyHolder.getKey();
+        return key != null ? key.longValue() : null;
+    }
+
+    /**
+     * Insert all entities with JDBC batches of {@link AppConstants.Database#BATCH_SIZE}
+     * and set the generated ids, in input order.
+     *
+     * @param argsOf   INSERT parameters of one entity, in placeholder order
+     * @param idSetter receives each entity with its generated id
+     */
+    protected List<T> insertAll(String sql, List<T> entities, Function<T, Object[]> argsOf,
+                                BiConsumer<T, Long> idSetter) {
+        for (int from = 0; from < entities.size(); from += AppConstants.Database.BATCH_SIZE) {
+            List<T> chunk = entities.subList(from, Math.min(from + AppConstants.Database.BATCH_SIZE, entities.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            bind(ps, argsOf.apply(chunk.get(i)));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder);
+
+            // MySQL trả key theo đúng thứ tự các dòng trong batch
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < chunk.size() && i < keys.size(); i++) {
+                idSetter.accept(chunk.get(i), ((Number) keys.get(i).values().iterator().next()).longValue());
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Update all entities with JDBC batches of {@link AppConstants.Database#BATCH_SIZE}
+     *
+     * @return number of rows updated
+     */
+    protected int updateAll(String sql, List<T> entities, Function<T, Object[]> argsOf) {
+        int[][] counts = jdbcTemplate.batchUpdate(sql, entities, AppConstants.Database.BATCH_SIZE,
+                (ps, entity) -> bind(ps, argsOf.apply(entity)));
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO (-2) khi driver gộp batch
+                updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return updated;
+    }
+
     public int deleteById(Long id) {
         String sql = "DELETE FROM " + tableName + " WHERE id = ?";
         return jdbcTemplate.update(sql, id);
     }
 
+    /**
+     * "SELECT &lt;columns&gt; FROM &lt;table&gt;" matching {@link #rowMapper}
+     */
+    protected String selectFrom() {
+        return selectFrom(columns);
+    }
+
+    protected String selectFrom(String selectColumns) {
+        return "SELECT " + selectColumns + " FROM " + tableName;
+    }
+
+    private static void bind(PreparedStatement ps, Object[] args) throws SQLException {
+        for (int i = 0; i < args.length; i++) {
+            ps.setObject(i + 1, args[i]);
+        }
+    }
+
+    /**
+     * ORDER BY clause for paged queries; must be deterministic
+     */
+    protected String defaultOrderBy() {
+        return "id";
+    }
+
 //    public abstract Long save(T entity);
 //
 //    public abstract int update(T entity);
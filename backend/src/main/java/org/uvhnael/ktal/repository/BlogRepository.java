@@ -1,68 +1,184 @@
 package org.uvhnael.ktal.repository;
 
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.uvhnael.ktal.dto.response.BlogListItem;
+import org.uvhnael.ktal.dto.response.CursorPageResponse;
+import org.uvhnael.ktal.dto.response.PageResponse;
 import org.uvhnael.ktal.model.Blog;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 @Repository
 public class BlogRepository extends BaseRepository<Blog> {
 
+    static final String COLUMNS = "id, title, slug, author, category, thumbnail, content, plain_text, summary, content_hash, status, created_at, updated_at";
+
+    // Đọc theo vị trí cột trong COLUMNS
+    static final RowMapper<Blog> ROW_MAPPER = (rs, rowNum) -> {
+        Blog blog = new Blog();
+        blog.setId(rs.getObject(1, Long.class));
+        blog.setTitle(rs.getString(2));
+        blog.setSlug(rs.getString(3));
+        blog.setAuthor(rs.getString(4));
+        blog.setCategory(rs.getString(5));
+        blog.setThumbnail(rs.getString(6));
+        blog.setContent(rs.getString(7));
+        blog.setPlainText(rs.getString(8));
+        blog.setSummary(rs.getString(9));
+        blog.setContentHash(rs.getString(10));
+        blog.setStatus(rs.getString(11));
+        blog.setCreatedAt(rs.getObject(12, LocalDateTime.class));
+        blog.setUpdatedAt(rs.getObject(13, LocalDateTime.class));
+        return blog;
+    };
+
+    // Cột cho danh sách: không có content / plain_text
+    static final String LIST_COLUMNS = "id, title, slug, author, category, thumbnail, summary, status, created_at, updated_at";
+
+    static final RowMapper<BlogListItem> LIST_ROW_MAPPER = (rs, rowNum) -> new BlogListItem(
+            rs.getObject(1, Long.class),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getString(5),
+            rs.getString(6),
+            rs.getString(7),
+            rs.getString(8),
+            rs.getObject(9, LocalDateTime.class),
+            rs.getObject(10, LocalDateTime.class)
+    );
+
+    static final String INSERT_SQL = "INSERT INTO blog (title, slug, author, category, thumbnail, content, plain_text, summary, content_hash, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String UPDATE_SQL = "UPDATE blog SET title = ?, slug = ?, author = ?, category = ?, thumbnail = ?, content = ?, plain_text = ?, summary = ?, content_hash = ?, status = ?, updated_at = ? WHERE id = ?";
+
     public BlogRepository(JdbcTemplate jdbcTemplate) {
-        super(jdbcTemplate, Blog.class, "blog");
+        super(jdbcTemplate, "blog", COLUMNS, ROW_MAPPER);
+    }
+
+    public PageResponse<BlogListItem> findPage(String category, String status, String search, int page, int size) {
+        return findPage(LIST_COLUMNS, LIST_ROW_MAPPER, listFilter(category, status, search), page, size);
+    }
+
+    public CursorPageResponse<BlogListItem> findAfter(String category, String status, String search, String cursor, int size) {
+        return findAfter(LIST_COLUMNS, LIST_ROW_MAPPER, listFilter(category, status, search), cursor, size,
+                BlogListItem::getCreatedAt, BlogListItem::getId);
+    }
+
+    public List<BlogListItem> findListItemsByStatus(String status) {
+        return findList(LIST_COLUMNS, LIST_ROW_MAPPER, QueryFilter.create().eq("status", status));
+    }
+
+    public List<BlogListItem> searchListItems(String term, int limit) {
+        QueryFilter filter = QueryFilter.create().search(term, "title", "plain_text", "category");
+        return findList(LIST_COLUMNS, LIST_ROW_MAPPER, filter, limit);
+    }
+
+    public List<BlogListItem> findRecentListItems(int limit) {
+        return findRecent(LIST_COLUMNS, LIST_ROW_MAPPER, limit);
+    }
+
+    public List<BlogListItem> findListItemsByIds(List<Long> ids) {
+        return findByIds(LIST_COLUMNS, LIST_ROW_MAPPER, ids, BlogListItem::getId);
+    }
+
+    private QueryFilter listFilter(String category, String status, String search) {
+        return QueryFilter.create()
+                .eq("category", category)
+                .eq("status", status)
+                .search(search, "title", "plain_text");
     }
 
     public Blog save(Blog entity) {
-        String sql = "INSERT INTO blog (title, slug, author, category, thumbnail, content, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        jdbcTemplate.update(sql,
+        entity.setId(insert(INSERT_SQL, insertArgs(entity)));
+        return entity;
+    }
+
+    public int update(Blog entity) {
+        return jdbcTemplate.update(UPDATE_SQL, updateArgs(entity));
+    }
+
+    /**
+     * Batched insert; generated ids are set on the entities in input order
+     */
+    public List<Blog> saveAll(List<Blog> entities) {
+        return insertAll(INSERT_SQL, entities, BlogRepository::insertArgs, Blog::setId);
+    }
+
+    public int updateAll(List<Blog> entities) {
+        return updateAll(UPDATE_SQL, entities, BlogRepository::updateArgs);
+    }
+
+    private static Object[] insertArgs(Blog entity) {
+        return new Object[]{
                 entity.getTitle(),
                 entity.getSlug(),
                 entity.getAuthor(),
                 entity.getCategory(),
                 entity.getThumbnail(),
                 entity.getContent(),
+                entity.getPlainText(),
+                entity.getSummary(),
+                entity.getContentHash(),
                 entity.getStatus(),
                 entity.getCreatedAt(),
                 entity.getUpdatedAt()
-        );
-        Long id = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
-        entity.setId(id);
-        return entity;
-
+        };
     }
 
-    public int update(Blog entity) {
-        String sql = "UPDATE blog SET title = ?, slug = ?, author = ?, category = ?, thumbnail = ?, content = ?, status = ?, created_at = ?, updated_at = ? WHERE id = ?";
-        return jdbcTemplate.update(sql,
+    private static Object[] updateArgs(Blog entity) {
+        return new Object[]{
                 entity.getTitle(),
                 entity.getSlug(),
                 entity.getAuthor(),
                 entity.getCategory(),
                 entity.getThumbnail(),
                 entity.getContent(),
+                entity.getPlainText(),
+                entity.getSummary(),
+                entity.getContentHash(),
                 entity.getStatus(),
-                entity.getCreatedAt(),
                 entity.getUpdatedAt(),
                 entity.getId()
-        );
+        };
+    }
+
+    public Optional<Blog> findBySlug(String slug) {
+        String sql = selectFrom() + " WHERE slug = ?";
+        return jdbcTemplate.query(sql, rowMapper, slug).stream().findFirst();
     }
 
-    public Blog findBySlug(String slug) {
-        String sql = "SELECT * FROM blog WHERE slug = ?";
-        return jdbcTemplate.queryForObject(sql, new Object[]{slug}, (rs, rowNum) -> {
-            Blog blog = new Blog();
-            blog.setId(rs.getLong("id"));
-            blog.setTitle(rs.getString("title"));
-            blog.setSlug(rs.getString("slug"));
-            blog.setAuthor(rs.getString("author"));
-            blog.setCategory(rs.getString("category"));
-            blog.setThumbnail(rs.getString("thumbnail"));
-            blog.setContent(rs.getString("content"));
-            blog.setStatus(rs.getString("status"));
-            blog.setCreatedAt(rs.getString("created_at"));
-            blog.setUpdatedAt(rs.getString("updated_at"));
-            return blog;
-        });
+    /**
+     * slug -> id for every blog; reads only the unique slug index
+     */
+    public Map<String, Long> findSlugIds() {
+        Map<String, Long> slugIds = new HashMap<>();
+        jdbcTemplate.query("SELECT slug, id FROM blog", (RowCallbackHandler) rs ->
+                slugIds.put(rs.getString(1), rs.getLong(2)));
+        return slugIds;
     }
 
+    public int updateDerivedContent(Long id, String plainText, String summary, String contentHash) {
+        String sql = "UPDATE blog SET plain_text = ?, summary = ?, content_hash = ? WHERE id = ?";
+        return jdbcTemplate.update(sql, plainText, summary, contentHash, id);
+    }
 
+    public List<Blog> findWithoutDerivedContent() {
+        String sql = selectFrom() + " WHERE content_hash IS NULL";
+        return jdbcTemplate.query(sql, rowMapper);
+    }
+
+    /**
+     * Full blogs with the given ids, in the order of {@code ids}
+     */
+    public List<Blog> findByIds(List<Long> ids) {
+        return findByIds(columns, rowMapper, ids, Blog::getId);
+    }
 }
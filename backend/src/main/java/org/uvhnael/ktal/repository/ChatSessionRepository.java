@@ -0,0 +1,43 @@
+package org.uvhnael.ktal.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spill-over storage for chat sessions evicted from memory.
+ * A session is stored as one JSON document per row.
+ */
+@Repository
+public class ChatSessionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChatSessionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int upsert(String id, String sessionJson, long updatedAt) {
+        String sql = "INSERT INTO chat_session (id, session_json, updated_at) VALUES (?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE session_json = VALUES(session_json), updated_at = VALUES(updated_at)";
+        return jdbcTemplate.update(sql, id, sessionJson, updatedAt);
+    }
+
+    public Optional<String> findJsonById(String id) {
+        String sql = "SELECT session_json FROM chat_session WHERE id = ?";
+        List<String> results = jdbcTemplate.queryForList(sql, String.class, id);
+        return results.stream().findFirst();
+    }
+
+    public int deleteById(String id) {
+        String sql = "DELETE FROM chat_session WHERE id = ?";
+        return jdbcTemplate.update(sql, id);
+    }
+
+    public int deleteOlderThan(long updatedBefore) {
+        String sql = "DELETE FROM chat_session WHERE updated_at < ?";
+        return jdbcTemplate.update(sql, updatedBefore);
+    }
+}
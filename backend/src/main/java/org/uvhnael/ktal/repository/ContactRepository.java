@@ -1,19 +1,98 @@
 package org.uvhnael.ktal.repository;
 
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.uvhnael.ktal.dto.response.CursorPageResponse;
+import org.uvhnael.ktal.dto.response.PageResponse;
 import org.uvhnael.ktal.model.Contact;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public class ContactRepository extends BaseRepository<Contact> {
 
+    static final String COLUMNS = "id, name, phone, email, service_id, message, status, note, handled_by, handled_at, created_at";
+
+    // Đọc theo vị trí cột trong COLUMNS
+    static final RowMapper<Contact> ROW_MAPPER = (rs, rowNum) -> {
+        Contact contact = new Contact();
+        contact.setId(rs.getObject(1, Long.class));
+        contact.setName(rs.getString(2));
+        contact.setPhone(rs.getString(3));
+        contact.setEmail(rs.getString(4));
+        contact.setServiceId(rs.getObject(5, Long.class));
+        contact.setMessage(rs.getString(6));
+        contact.setStatus(rs.getString(7));
+        contact.setNote(rs.getString(8));
+        contact.setHandledBy(rs.getString(9));
+        contact.setHandledAt(rs.getObject(10, LocalDateTime.class));
+        contact.setCreatedAt(rs.getObject(11, LocalDateTime.class));
+        return contact;
+    };
+
+    static final String INSERT_SQL = "INSERT INTO contact (name, phone, email, service_id, message, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    static final String UPDATE_SQL = "UPDATE contact SET name = ?, phone = ?, email = ?, service_id = ?, message = ? WHERE id = ?";
+
     public ContactRepository(JdbcTemplate jdbcTemplate) {
-        super(jdbcTemplate, Contact.class, "contact");
+        super(jdbcTemplate, "contact", COLUMNS, ROW_MAPPER);
+    }
+
+    public PageResponse<Contact> findPage(String status, Long serviceId, String handledBy, String search, int page, int size) {
+        QueryFilter filter = QueryFilter.create()
+                .eq("status", status)
+                .eq("service_id", serviceId)
+                .eq("handled_by", handledBy)
+                .search(search, "name", "email", "message");
+        return findPage(filter, page, size);
+    }
+
+    public CursorPageResponse<Contact> findAfter(String status, Long serviceId, String handledBy, String search, String cursor, int size) {
+        QueryFilter filter = QueryFilter.create()
+                .eq("status", status)
+                .eq("service_id", serviceId)
+                .eq("handled_by", handledBy)
+                .search(search, "name", "email", "message");
+        return findAfter(columns, rowMapper, filter, cursor, size, Contact::getCreatedAt, Contact::getId);
+    }
+
+    public List<Contact> search(String term, int limit) {
+        QueryFilter filter = QueryFilter.create().search(term, "name", "email", "message");
+        return findList(columns, rowMapper, filter, limit);
+    }
+
+    public List<Contact> findRecent(int limit) {
+        return findRecent(columns, rowMapper, limit);
+    }
+
+    public List<Contact> findAllById(List<Long> ids) {
+        return findByIds(columns, rowMapper, ids, Contact::getId);
     }
 
     public Contact save(Contact entity) {
-        String sql = "INSERT INTO contact (name, phone, email, service_id, message, status, created_at) VALUES (?, ?, ?, ?,?, ?, ?)";
-        jdbcTemplate.update(sql,
+        entity.setId(insert(INSERT_SQL, insertArgs(entity)));
+        return entity;
+    }
+
+    public int update(Contact entity) {
+        return jdbcTemplate.update(UPDATE_SQL, updateArgs(entity));
+    }
+
+    /**
+     * Batched insert; generated ids are set on the entities in input order
+     */
+    public List<Contact> saveAll(List<Contact> entities) {
+        return insertAll(INSERT_SQL, entities, ContactRepository::insertArgs, Contact::setId);
+    }
+
+    public int updateAll(List<Contact> entities) {
+        return updateAll(UPDATE_SQL, entities, ContactRepository::updateArgs);
+    }
+
+    private static Object[] insertArgs(Contact entity) {
+        return new Object[]{
                 entity.getName(),
                 entity.getPhone(),
                 entity.getEmail(),
@@ -21,23 +100,18 @@ public class ContactRepository extends BaseRepository<Contact> {
                 entity.getMessage(),
                 entity.getStatus(),
                 entity.getCreatedAt()
-        );
-        Long id = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
-        entity.setId(id);
-        return entity;
+        };
     }
 
-    public int update(Contact entity) {
-        String sql = "UPDATE contact SET name = ?, phone = ?, email = ?, service_id = ?, message = ?, created_at = ? WHERE id = ?";
-        return jdbcTemplate.update(sql,
+    private static Object[] updateArgs(Contact entity) {
+        return new Object[]{
                 entity.getName(),
                 entity.getPhone(),
                 entity.getEmail(),
                 entity.getServiceId(),
                 entity.getMessage(),
-                entity.getCreatedAt(),
                 entity.getId()
-        );
+        };
     }
 
     public int updateNote(Long id, String note) {
@@ -50,7 +124,7 @@ public class ContactRepository extends BaseRepository<Contact> {
         return jdbcTemplate.update(sql, status, id);
     }
 
-    public int updateHandled(Long handledBy, String handledAt, Long id) {
+    public int updateHandled(Long handledBy, LocalDateTime handledAt, Long id) {
         String sql = "UPDATE contact SET handled_by = ?, handled_at = ? WHERE id = ?";
         return jdbcTemplate.update(sql, handledBy, handledAt, id);
     }
@@ -1,15 +1,64 @@
 package org.uvhnael.ktal.repository;
 
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.uvhnael.ktal.dto.response.CursorPageResponse;
+import org.uvhnael.ktal.dto.response.PageResponse;
+import org.uvhnael.ktal.dto.response.ProjectListItem;
 import org.uvhnael.ktal.model.Project;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Repository
 public class ProjectRepository extends BaseRepository<Project> {
 
+    static final String COLUMNS = "id, title, slug, description, year, area, thumbnail, content, status, created_at, updated_at";
+
+    // Đọc theo vị trí cột trong COLUMNS
+    static final RowMapper<Project> ROW_MAPPER = (rs, rowNum) -> {
+        Project project = new Project();
+        project.setId(rs.getObject(1, Long.class));
+        project.setTitle(rs.getString(2));
+        project.setSlug(rs.getString(3));
+        project.setDescription(rs.getString(4));
+        project.setYear(rs.getObject(5, Integer.class));
+        project.setArea(rs.getString(6));
+        project.setThumbnail(rs.getString(7));
+        project.setContent(rs.getString(8));
+        project.setStatus(rs.getString(9));
+        project.setCreatedAt(rs.getObject(10, LocalDateTime.class));
+        project.setUpdatedAt(rs.getObject(11, LocalDateTime.class));
+        return project;
+    };
+
+    // Cột cho danh sách: không có content
+    static final String LIST_COLUMNS = "id, title, slug, description, year, area, thumbnail, status, created_at, updated_at";
+
+    static final RowMapper<ProjectListItem> LIST_ROW_MAPPER = (rs, rowNum) -> new ProjectListItem(
+            rs.getObject(1, Long.class),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getObject(5, Integer.class),
+            rs.getString(6),
+            rs.getString(7),
+            rs.getString(8),
+            rs.getObject(9, LocalDateTime.class),
+            rs.getObject(10, LocalDateTime.class)
+    );
+
+    static final String INSERT_SQL = "INSERT INTO project (title, slug, description, year, area, thumbnail, content, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String UPDATE_SQL = "UPDATE project SET title = ?, slug = ?, description = ?, year = ?, area = ?, thumbnail = ?, content = ?, status = ?, updated_at = ? WHERE id = ?";
+
     public ProjectRepository(JdbcTemplate jdbcTemplate) {
-        super(jdbcTemplate, Project.class, "project");
+        super(jdbcTemplate, "project", COLUMNS, ROW_MAPPER);
     }
 
 //    private Long id;
@@ -24,9 +73,62 @@ public class ProjectRepository extends BaseRepository<Project> {
 //    private String createdAt;
 //    private String updatedAt;
 
-    public int save(Project entity) {
-        String sql = "INSERT INTO project (title, slug, description, year, area, thumbnail, content, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        return jdbcTemplate.update(sql,
+    public PageResponse<ProjectListItem> findPage(Integer year, String area, String status, String search, int page, int size) {
+        return findPage(LIST_COLUMNS, LIST_ROW_MAPPER, listFilter(year, area, status, search), page, size);
+    }
+
+    public CursorPageResponse<ProjectListItem> findAfter(Integer year, String area, String status, String search, String cursor, int size) {
+        return findAfter(LIST_COLUMNS, LIST_ROW_MAPPER, listFilter(year, area, status, search), cursor, size,
+                ProjectListItem::getCreatedAt, ProjectListItem::getId);
+    }
+
+    public List<ProjectListItem> searchListItems(String term, int limit) {
+        QueryFilter filter = QueryFilter.create().search(term, "title", "description", "area");
+        return findList(LIST_COLUMNS, LIST_ROW_MAPPER, filter, limit);
+    }
+
+    public List<ProjectListItem> findRecentListItems(int limit) {
+        return findRecent(LIST_COLUMNS, LIST_ROW_MAPPER, limit);
+    }
+
+    public List<ProjectListItem> findListItemsByIds(List<Long> ids) {
+        return findByIds(LIST_COLUMNS, LIST_ROW_MAPPER, ids, ProjectListItem::getId);
+    }
+
+    public List<Project> findAllById(List<Long> ids) {
+        return findByIds(columns, rowMapper, ids, Project::getId);
+    }
+
+    private QueryFilter listFilter(Integer year, String area, String status, String search) {
+        return QueryFilter.create()
+                .eq("year", year)
+                .eq("area", area)
+                .eq("status", status)
+                .search(search, "title", "description");
+    }
+
+    public Project save(Project entity) {
+        entity.setId(insert(INSERT_SQL, insertArgs(entity)));
+        return entity;
+    }
+
+    public int update(Project entity) {
+        return jdbcTemplate.update(UPDATE_SQL, updateArgs(entity));
+    }
+
+    /**
+     * Batched insert; generated ids are set on the entities in input order
+     */
+    public List<Project> saveAll(List<Project> entities) {
+        return insertAll(INSERT_SQL, entities, ProjectRepository::insertArgs, Project::setId);
+    }
+
+    public int updateAll(List<Project> entities) {
+        return updateAll(UPDATE_SQL, entities, ProjectRepository::updateArgs);
+    }
+
+    private static Object[] insertArgs(Project entity) {
+        return new Object[]{
                 entity.getTitle(),
                 entity.getSlug(),
                 entity.getDescription(),
@@ -37,12 +139,11 @@ public class ProjectRepository extends BaseRepository<Project> {
                 entity.getStatus(),
                 entity.getCreatedAt(),
                 entity.getUpdatedAt()
-        );
+        };
     }
 
-    public int update(Project entity) {
-        String sql = "UPDATE project SET title = ?, slug = ?, description = ?, year = ?, area = ?, thumbnail = ?, content = ?, status = ?, created_at = ?, updated_at = ? WHERE id = ?";
-        return jdbcTemplate.update(sql,
+    private static Object[] updateArgs(Project entity) {
+        return new Object[]{
                 entity.getTitle(),
                 entity.getSlug(),
                 entity.getDescription(),
@@ -51,28 +152,23 @@ public class ProjectRepository extends BaseRepository<Project> {
                 entity.getThumbnail(),
                 entity.getContent(),
                 entity.getStatus(),
-                entity.getCreatedAt(),
                 entity.getUpdatedAt(),
                 entity.getId()
-        );
-    }
-
-    public Project findBySlug(String slug) {
-        String sql = "SELECT * FROM project WHERE slug = ?";
-        return jdbcTemplate.queryForObject(sql, new Object[]{slug}, (rs, rowNum) -> {
-            Project project = new Project();
-            project.setId(rs.getLong("id"));
-            project.setTitle(rs.getString("title"));
-            project.setSlug(rs.getString("slug"));
-            project.setDescription(rs.getString("description"));
-            project.setYear(rs.getInt("year"));
-            project.setArea(rs.getString("area"));
-            project.setThumbnail(rs.getString("thumbnail"));
-            project.setContent(rs.getString("content"));
-            project.setStatus(rs.getString("status"));
-            project.setCreatedAt(rs.getString("created_at"));
-            project.setUpdatedAt(rs.getString("updated_at"));
-            return project;
-        });
+        };
+    }
+
+    public Optional<Project> findBySlug(String slug) {
+        String sql = selectFrom() + " WHERE slug = ?";
+        return jdbcTemplate.query(sql, rowMapper, slug).stream().findFirst();
+    }
+
+    /**
+     * slug -> id for every project; reads only the unique slug index
+     */
+    public Map<String, Long> findSlugIds() {
+        Map<String, Long> slugIds = new HashMap<>();
+        jdbcTemplate.query("SELECT slug, id FROM project", (RowCallbackHandler) rs ->
+                slugIds.put(rs.getString(1), rs.getLong(2)));
+        return slugIds;
     }
 }
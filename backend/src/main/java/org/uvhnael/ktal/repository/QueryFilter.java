@@ -0,0 +1,89 @@
+package org.uvhnael.ktal.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * WHERE clause builder for list queries. Null or blank values are skipped, so
+ * controllers can pass optional request params straight through.
+ * Column names always come from code, values are always bound as parameters.
+ */
+public class QueryFilter {
+
+    private final List<String> conditions = new ArrayList<>();
+    private final List<Object> args = new ArrayList<>();
+
+    public static QueryFilter create() {
+        return new QueryFilter();
+    }
+
+    /**
+     * Equality; case-insensitive for text columns under the default *_ci collation
+     */
+    public QueryFilter eq(String column, Object value) {
+        if (isPresent(value)) {
+            conditions.add(column + " = ?");
+            args.add(value);
+        }
+        return this;
+    }
+
+    /**
+     * Membership in {@code values}; an empty collection matches nothing
+     */
+    public QueryFilter in(String column, Collection<?> values) {
+        if (values.isEmpty()) {
+            conditions.add("1 = 0");
+        } else {
+            conditions.add(column + " IN (" + String.join(", ", Collections.nCopies(values.size(), "?")) + ")");
+            args.addAll(values);
+        }
+        return this;
+    }
+
+    /**
+     * Substring match of {@code term} in any of the given columns
+     */
+    public QueryFilter search(String term, String... columns) {
+        if (isPresent(term) && columns.length > 0) {
+            List<String> parts = new ArrayList<>();
+            String pattern = "%" + escapeLike(term.trim()) + "%";
+            for (String column : columns) {
+                parts.add(column + " LIKE ?");
+                args.add(pattern);
+            }
+            conditions.add("(" + String.join(" OR ", parts) + ")");
+        }
+        return this;
+    }
+
+    /**
+     * Raw condition with its own bound values, for cases the helpers do not cover
+     */
+    public QueryFilter where(String condition, Object... values) {
+        conditions.add(condition);
+        args.addAll(List.of(values));
+        return this;
+    }
+
+    /**
+     * " WHERE ..." or empty string when there are no conditions
+     */
+    public String toSql() {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    public List<Object> getArgs() {
+        return args;
+    }
+
+    private static boolean isPresent(Object value) {
+        return value != null && !(value instanceof String s && s.isBlank());
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
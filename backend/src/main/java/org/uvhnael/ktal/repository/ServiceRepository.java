@@ -1,36 +1,92 @@
 package org.uvhnael.ktal.repository;
 
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.uvhnael.ktal.dto.response.PageResponse;
 import org.uvhnael.ktal.model.Service;
 
+import java.util.List;
+
 @Repository
 public class ServiceRepository extends BaseRepository<Service> {
 
+    static final String COLUMNS = "id, icon, title, description, features, price";
+
+    // Đọc theo vị trí cột trong COLUMNS
+    static final RowMapper<Service> ROW_MAPPER = (rs, rowNum) -> {
+        Service service = new Service();
+        service.setId(rs.getObject(1, Long.class));
+        service.setIcon(rs.getString(2));
+        service.setTitle(rs.getString(3));
+        service.setDescription(rs.getString(4));
+        service.setFeatures(rs.getString(5));
+        service.setPrice(rs.getString(6));
+        return service;
+    };
+
+    static final String INSERT_SQL = "INSERT INTO service (icon, title, description, price, features) VALUES (?, ?, ?, ?, ?)";
+
+    static final String UPDATE_SQL = "UPDATE service SET icon = ?, title = ?, description = ?, price = ?, features = ? WHERE id = ?";
+
     public ServiceRepository(JdbcTemplate jdbcTemplate) {
-        super(jdbcTemplate, Service.class, "service");
+        super(jdbcTemplate, "service", COLUMNS, ROW_MAPPER);
+    }
+
+    public PageResponse<Service> findPage(String search, String priceRange, int page, int size) {
+        QueryFilter filter = QueryFilter.create()
+                .search(search, "title", "description", "features")
+                .search(priceRange, "price");
+        return findPage(filter, page, size);
+    }
+
+    public List<Service> search(String term, int limit) {
+        QueryFilter filter = QueryFilter.create().search(term, "title", "description", "features");
+        return findList(columns, rowMapper, filter, limit);
+    }
+
+    public List<Service> findAllById(List<Long> ids) {
+        return findByIds(columns, rowMapper, ids, Service::getId);
     }
 
-    public int save(Service entity) {
-        String sql = "INSERT INTO service (icon, title, description, price, features) VALUES (?, ?, ?, ?, ?)";
-        return jdbcTemplate.update(sql,
+    public Service save(Service entity) {
+        entity.setId(insert(INSERT_SQL, insertArgs(entity)));
+        return entity;
+    }
+
+    public int update(Service entity) {
+        return jdbcTemplate.update(UPDATE_SQL, updateArgs(entity));
+    }
+
+    /**
+     * Batched insert; generated ids are set on the entities in input order
+     */
+    public List<Service> saveAll(List<Service> entities) {
+        return insertAll(INSERT_SQL, entities, ServiceRepository::insertArgs, Service::setId);
+    }
+
+    public int updateAll(List<Service> entities) {
+        return updateAll(UPDATE_SQL, entities, ServiceRepository::updateArgs);
+    }
+
+    private static Object[] insertArgs(Service entity) {
+        return new Object[]{
                 entity.getIcon(),
                 entity.getTitle(),
                 entity.getDescription(),
                 entity.getPrice(),
                 entity.getFeatures()
-        );
+        };
     }
 
-    public int update(Service entity) {
-        String sql = "UPDATE service SET icon = ?, title = ?, description = ?, price = ?, features = ? WHERE id = ?";
-        return jdbcTemplate.update(sql,
+    private static Object[] updateArgs(Service entity) {
+        return new Object[]{
                 entity.getIcon(),
                 entity.getTitle(),
                 entity.getDescription(),
                 entity.getPrice(),
                 entity.getFeatures(),
                 entity.getId()
-        );
+        };
     }
 }
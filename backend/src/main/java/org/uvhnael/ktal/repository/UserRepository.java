@@ -1,34 +1,72 @@
 package org.uvhnael.ktal.repository;
 
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 import org.uvhnael.ktal.model.User;
 
+import java.util.List;
+
 @Repository
 public class UserRepository extends BaseRepository<User> {
 
+    static final String COLUMNS = "id, email, username, password, role";
+
+    // Đọc theo vị trí cột trong COLUMNS
+    static final RowMapper<User> ROW_MAPPER = (rs, rowNum) -> {
+        User user = new User();
+        user.setId(rs.getObject(1, Long.class));
+        user.setEmail(rs.getString(2));
+        user.setUsername(rs.getString(3));
+        user.setPassword(rs.getString(4));
+        user.setRole(rs.getString(5));
+        return user;
+    };
+
+    static final String INSERT_SQL = "INSERT INTO user (email, username, password, role) VALUES (?, ?, ?, ?)";
+
+    static final String UPDATE_SQL = "UPDATE user SET email = ?, username = ?, password = ?, role = ? WHERE id = ?";
+
     public UserRepository(JdbcTemplate jdbcTemplate) {
-        super(jdbcTemplate, User.class, "user");
+        super(jdbcTemplate, "user", COLUMNS, ROW_MAPPER);
+    }
+
+    public User save(User entity) {
+        entity.setId(insert(INSERT_SQL, insertArgs(entity)));
+        return entity;
     }
 
-    public int save(User entity) {
-        String sql = "INSERT INTO user (email, username, password, role) VALUES (?, ?, ?, ?)";
-        return jdbcTemplate.update(sql,
+    public int update(User entity) {
+        return jdbcTemplate.update(UPDATE_SQL, updateArgs(entity));
+    }
+
+    /**
+     * Batched insert; generated ids are set on the entities in input order
+     */
+    public List<User> saveAll(List<User> entities) {
+        return insertAll(INSERT_SQL, entities, UserRepository::insertArgs, User::setId);
+    }
+
+    public int updateAll(List<User> entities) {
+        return updateAll(UPDATE_SQL, entities, UserRepository::updateArgs);
+    }
+
+    private static Object[] insertArgs(User entity) {
+        return new Object[]{
                 entity.getEmail(),
                 entity.getUsername(),
                 entity.getPassword(),
                 entity.getRole()
-        );
+        };
     }
 
-    public int update(User entity) {
-        String sql = "UPDATE user SET email = ?, username = ?, password = ?, role = ? WHERE id = ?";
-        return jdbcTemplate.update(sql,
+    private static Object[] updateArgs(User entity) {
+        return new Object[]{
                 entity.getEmail(),
                 entity.getUsername(),
                 entity.getPassword(),
                 entity.getRole(),
                 entity.getId()
-        );
+        };
     }
 }
@@ -2,7 +2,19 @@ package org.uvhnael.ktal.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.uvhnael.ktal.constants.AppConstants;
+import org.uvhnael.ktal.dto.response.BlogListItem;
+import org.uvhnael.ktal.dto.response.CursorPageResponse;
+import org.uvhnael.ktal.dto.response.PageResponse;
+import org.uvhnael.ktal.event.EntityChangeBus;
+import org.uvhnael.ktal.exception.ResourceNotFoundException;
+import org.uvhnael.ktal.event.EntityChangedEvent.ChangeType;
+import org.uvhnael.ktal.event.EntityChangedEvent.EntityType;
+import org.uvhnael.ktal.event.EntityDimensions;
 import org.uvhnael.ktal.model.Blog;
 import org.uvhnael.ktal.repository.BlogRepository;
 import org.uvhnael.ktal.utils.HtmlCleaner;
@@ -10,6 +22,8 @@ import org.uvhnael.ktal.utils.HtmlCleaner;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -21,86 +35,114 @@ public class BlogService {
     private final BlogRepository blogRepository;
     private final EmbeddingService embeddingService;
     private final MilvusService milvusService;
+    private final EntityChangeBus entityChangeBus;
+    private final SlugIndex slugIndex;
 
     public List<Blog> findAll() {
         return blogRepository.findAll();
     }
 
+    @Cacheable(cacheNames = AppConstants.Cache.BLOG_LIST_CACHE, key = "{'page', #category, #status, #search, #page, #size}")
+    public PageResponse<BlogListItem> findPage(String category, String status, String search, int page, int size) {
+        return blogRepository.findPage(category, status, search, page, size);
+    }
+
+    @Cacheable(cacheNames = AppConstants.Cache.BLOG_LIST_CACHE, key = "{'after', #category, #status, #search, #cursor, #size}")
+    public CursorPageResponse<BlogListItem> findAfter(String category, String status, String search, String cursor, int size) {
+        return blogRepository.findAfter(category, status, search, cursor, size);
+    }
+
+    @Cacheable(cacheNames = AppConstants.Cache.BLOG_LIST_CACHE, key = "{'published'}")
+    public List<BlogListItem> findPublished() {
+        return blogRepository.findListItemsByStatus(AppConstants.EntityStatus.PUBLISHED);
+    }
+
+    @Cacheable(cacheNames = AppConstants.Cache.BLOG_LIST_CACHE, key = "{'recent', #limit}")
+    public List<BlogListItem> findRecent(int limit) {
+        return blogRepository.findRecentListItems(limit);
+    }
+
+    @Cacheable(AppConstants.Cache.BLOG_CACHE)
     public Optional<Blog> findById(Long id) {
         return blogRepository.findById(id);
     }
 
+    /**
+     * Load blogs in one query, keeping the order of the given ids (e.g. similarity rank)
+     */
+    public List<Blog> findByIds(List<Long> ids) {
+        return blogRepository.findByIds(ids);
+    }
+
     public Blog create(Blog blog) {
         log.info("Creating new blog with title: {}", blog.getTitle());
 
         // Save blog first
-        blog.setCreatedAt(LocalDateTime.now().toString());
-        blog.setUpdatedAt(LocalDateTime.now().toString());
+        blog.setCreatedAt(LocalDateTime.now());
+        blog.setUpdatedAt(LocalDateTime.now());
+        applyDerivedContent(blog);
         Blog savedBlog = blogRepository.save(blog);
         log.info("Blog saved to database with ID: {}", savedBlog.getId());
+        entityChangeBus.publish(EntityType.BLOG, ChangeType.CREATED, savedBlog.getId(),
+                Map.of(), EntityDimensions.of(savedBlog), savedBlog.getSlug());
 
-        try {
-            log.debug("Starting embedding generation for blog ID: {}", savedBlog.getId());
-            // Generate embedding
-            String content = HtmlCleaner.cleanHtml(savedBlog.getContent());
-            log.debug("HTML content cleaned, length: {} characters", content.length());
-
-            float[] embedding = embeddingService.generateEmbedding(
-                    blog.getTitle() + " " + content
-            );
-            log.debug("Embedding generated successfully, dimension: {}", embedding.length);
+        indexEmbedding(savedBlog, false);
 
-            // Save to Milvus
-            milvusService.insertEmbedding(
-                    savedBlog.getId().toString(),
-                    savedBlog.getTitle() + " " + content,
-                    embedding
-            );
-            log.info("Blog embedding saved to Milvus successfully for blog ID: {}", savedBlog.getId());
+        log.info("Blog creation completed for ID: {}", savedBlog.getId());
+        return savedBlog;
+    }
 
-        } catch (Exception e) {
-            // Log error but don't fail blog creation
-            log.error("Error creating embedding for blog ID {}: {}", savedBlog.getId(), e.getMessage(), e);
+    /**
+     * Bulk import: one batched insert, then embeddings for each saved blog
+     */
+    public List<Blog> createAll(List<Blog> blogs) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Blog blog : blogs) {
+            blog.setCreatedAt(now);
+            blog.setUpdatedAt(now);
+            applyDerivedContent(blog);
         }
+        List<Blog> saved = blogRepository.saveAll(blogs);
+        log.info("Batch saved {} blogs to database", saved.size());
+        saved.forEach(blog -> entityChangeBus.publish(EntityType.BLOG, ChangeType.CREATED, blog.getId(),
+                Map.of(), EntityDimensions.of(blog), blog.getSlug()));
 
-        log.info("Blog creation completed for ID: {}", savedBlog.getId());
-        return savedBlog;
+        saved.forEach(blog -> indexEmbedding(blog, false));
+        return saved;
     }
 
     public int update(Blog blog) {
         log.info("Updating blog with ID: {}", blog.getId());
-        blog.setUpdatedAt(LocalDateTime.now().toString());
-        blogRepository.update(blog);
+        Blog existing = blogRepository.findById(blog.getId()).orElse(null);
+
+        blog.setUpdatedAt(LocalDateTime.now());
+        applyDerivedContent(blog);
+        int result = blogRepository.update(blog);
+        if (result == 0) {
+            log.warn("Blog not found for update with ID: {}", blog.getId());
+            return 0;
+        }
         log.info("Blog updated in database with ID: {}", blog.getId());
+        entityChangeBus.publish(EntityType.BLOG, ChangeType.UPDATED, blog.getId(),
+                existing != null ? EntityDimensions.of(existing) : Map.of(), EntityDimensions.of(blog),
+                blog.getSlug(), existing != null ? existing.getSlug() : null);
 
-        try {
-            log.debug("Starting embedding update for blog ID: {}", blog.getId());
-            // Update embedding
-            float[] embedding = embeddingService.generateEmbedding(
-                    blog.getTitle() + " " + blog.getContent()
-            );
-            log.debug("New embedding generated for blog ID: {}", blog.getId());
-
-            // Update in Milvus (delete old + insert new)
-            milvusService.deleteEmbedding(blog.getId().toString());
-            log.debug("Old embedding deleted from Milvus for blog ID: {}", blog.getId());
-
-            milvusService.insertEmbedding(
-                    blog.getId().toString(),
-                    blog.getTitle() + " " + blog.getContent(),
-                    embedding
-            );
-            log.info("Blog embedding updated in Milvus successfully for blog ID: {}", blog.getId());
-        } catch (Exception e) {
-            log.error("Error updating embedding for blog ID {}: {}", blog.getId(), e.getMessage(), e);
+        // Content and title unchanged -> embedding in Milvus is still valid
+        if (existing != null
+                && blog.getContentHash().equals(existing.getContentHash())
+                && Objects.equals(blog.getTitle(), existing.getTitle())) {
+            log.debug("Content unchanged for blog ID: {}, skipping embedding update", blog.getId());
+        } else {
+            indexEmbedding(blog, true);
         }
 
         log.info("Blog update completed for ID: {}", blog.getId());
-        return 1;
+        return result;
     }
 
     public int delete(Long id) {
         log.info("Deleting blog with ID: {}", id);
+        Blog existing = blogRepository.findById(id).orElse(null);
 
         try {
             // Delete from Milvus first
@@ -113,6 +155,9 @@ public class BlogService {
         int result = blogRepository.deleteById(id);
         if (result > 0) {
             log.info("Blog deleted from database successfully for ID: {}", id);
+            entityChangeBus.publish(EntityType.BLOG, ChangeType.DELETED, id,
+                    existing != null ? EntityDimensions.of(existing) : Map.of(), Map.of(),
+                    existing != null ? existing.getSlug() : null);
         } else {
             log.warn("No blog found to delete with ID: {}", id);
         }
@@ -120,8 +165,71 @@ public class BlogService {
         return result;
     }
 
+    /**
+     * Compute plain text, summary and content hash once at write time so that
+     * read paths (chat, list, search) never have to parse HTML again.
+     */
+    private void applyDerivedContent(Blog blog) {
+        String plainText = HtmlCleaner.cleanHtml(blog.getContent());
+        blog.setPlainText(plainText);
+        blog.setSummary(HtmlCleaner.excerpt(plainText, AppConstants.Defaults.BLOG_SUMMARY_LENGTH));
+        blog.setContentHash(HtmlCleaner.contentHash(blog.getContent()));
+    }
+
+    private void indexEmbedding(Blog blog, boolean replaceExisting) {
+        try {
+            log.debug("Starting embedding generation for blog ID: {}", blog.getId());
+            String text = blog.getTitle() + " " + blog.getPlainText();
+
+            float[] embedding = embeddingService.generateEmbedding(text);
+            log.debug("Embedding generated successfully, dimension: {}", embedding.length);
+
+            if (replaceExisting) {
+                // Update in Milvus (delete old + insert new)
+                milvusService.deleteEmbedding(blog.getId().toString());
+                log.debug("Old embedding deleted from Milvus for blog ID: {}", blog.getId());
+            }
+
+            milvusService.insertEmbedding(blog.getId().toString(), text, embedding);
+            log.info("Blog embedding saved to Milvus successfully for blog ID: {}", blog.getId());
+
+        } catch (Exception e) {
+            // Log error but don't fail blog write
+            log.error("Error indexing embedding for blog ID {}: {}", blog.getId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Backfill derived columns for blogs written before they existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillDerivedContent() {
+        try {
+            List<Blog> blogs = blogRepository.findWithoutDerivedContent();
+            if (blogs.isEmpty()) {
+                return;
+            }
+            log.info("Backfilling plain text and summary for {} blogs", blogs.size());
+            for (Blog blog : blogs) {
+                applyDerivedContent(blog);
+                blogRepository.updateDerivedContent(blog.getId(), blog.getPlainText(),
+                        blog.getSummary(), blog.getContentHash());
+            }
+        } catch (Exception e) {
+            log.error("Error backfilling blog derived content: {}", e.getMessage(), e);
+        }
+    }
+
+    @Cacheable(AppConstants.Cache.BLOG_SLUG_CACHE)
     public Blog findBySlug(String slug) {
-        return blogRepository.findBySlug(slug);
+        Long id = slugIndex.blogId(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("Blog", slug, "Blog with slug '" + slug + "' not found"));
+        return blogRepository.findById(id)
+                .filter(blog -> slug.equals(blog.getSlug()))
+                .orElseThrow(() -> {
+                    slugIndex.removeBlog(slug, id);
+                    return new ResourceNotFoundException("Blog", slug, "Blog with slug '" + slug + "' not found");
+                });
     }
 
     // Add method to search similar blogs
@@ -152,12 +260,9 @@ public class BlogService {
             List<String> similarIds = findSimilarContentIds(query, limit);
             log.debug("Retrieved {} similar blog IDs", similarIds.size());
 
-            List<Blog> similarBlogs = similarIds.stream()
+            List<Blog> similarBlogs = findByIds(similarIds.stream()
                     .map(Long::parseLong)
-                    .map(this::findById)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toList()));
 
             log.info("Found {} similar blogs for query: '{}'", similarBlogs.size(), query);
             return similarBlogs;
@@ -0,0 +1,77 @@
+package org.uvhnael.ktal.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.uvhnael.ktal.constants.AppConstants;
+import org.uvhnael.ktal.event.EntityChangedEvent;
+
+/**
+ * Evicts exactly the cache entries a write can make stale: the entity by id,
+ * its old and new slugs, the list projections of that entity type and the
+ * filter facets.
+ * Driven by {@link EntityChangedEvent}s, so writes made on other instances
+ * evict here as well.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheEvictionService {
+
+    private final CacheManager cacheManager;
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        String[] slugs = event.slugs().toArray(String[]::new);
+        switch (event.entityType()) {
+            case BLOG -> evictBlog(event.id(), slugs);
+            case PROJECT -> evictProject(event.id(), slugs);
+            case SERVICE -> evictService(event.id());
+            default -> {
+                // contact không được cache
+            }
+        }
+    }
+
+    public void evictBlog(Long id, String... slugs) {
+        evict(AppConstants.Cache.BLOG_CACHE, id);
+        for (String slug : slugs) {
+            evict(AppConstants.Cache.BLOG_SLUG_CACHE, slug);
+        }
+        clear(AppConstants.Cache.BLOG_LIST_CACHE);
+        clear(AppConstants.Cache.FACET_CACHE);
+    }
+
+    public void evictProject(Long id, String... slugs) {
+        evict(AppConstants.Cache.PROJECT_CACHE, id);
+        for (String slug : slugs) {
+            evict(AppConstants.Cache.PROJECT_SLUG_CACHE, slug);
+        }
+        clear(AppConstants.Cache.PROJECT_LIST_CACHE);
+        clear(AppConstants.Cache.FACET_CACHE);
+    }
+
+    public void evictService(Long id) {
+        evict(AppConstants.Cache.SERVICE_CACHE, id);
+        clear(AppConstants.Cache.SERVICE_LIST_CACHE);
+        clear(AppConstants.Cache.FACET_CACHE);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+            log.debug("Evicted {} from cache {}", key, cacheName);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.uvhnael.ktal.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.uvhnael.ktal.model.ChatJob;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs detailed chat queries in the background so clients can poll for the result
+ * instead of holding a connection open while the model answers.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatJobService {
+
+    private final ChatService chatService;
+    private final ThreadPoolExecutor chatJobExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.jobs.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    private final Map<String, ChatJob> jobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("chat.jobs.queue.depth", chatJobExecutor, executor -> executor.getQueue().size())
+                .description("Chat jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("chat.jobs.active", chatJobExecutor, ThreadPoolExecutor::getActiveCount)
+                .description("Chat jobs currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a detailed chat query.
+     *
+     * @return the queued job
+     * @throws RejectedExecutionException when the job queue is full
+     */
+    public ChatJob submit(String query, int maxResults) {
+        ChatJob job = new ChatJob(UUID.randomUUID().toString(), query);
+        jobs.put(job.getId(), job);
+
+        try {
+            chatJobExecutor.execute(() -> run(job, maxResults));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            meterRegistry.counter("chat.jobs.rejected").increment();
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<ChatJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public int queueDepth() {
+        return chatJobExecutor.getQueue().size();
+    }
+
+    private void run(ChatJob job, int maxResults) {
+        job.setStatus(ChatJob.Status.RUNNING);
+        try {
+            job.setResult(chatService.searchWithSimilarityScores(job.getQuery(), maxResults));
+            job.setStatus(ChatJob.Status.DONE);
+        } catch (Exception e) {
+            log.error("Chat job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.setError(e.getMessage());
+            job.setStatus(ChatJob.Status.FAILED);
+        } finally {
+            job.setFinishedAt(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Drop finished jobs older than the retention TTL
+     */
+    @Scheduled(fixedDelayString = "${chat.jobs.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long expiredBefore = System.currentTimeMillis() - Duration.ofMinutes(ttlMinutes).toMillis();
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.getFinishedAt() > 0 && job.getFinishedAt() < expiredBefore);
+        if (jobs.size() < before) {
+            log.debug("Evicted {} finished chat jobs", before - jobs.size());
+        }
+    }
+}
@@ -2,15 +2,28 @@ package org.uvhnael.ktal.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.uvhnael.ktal.constants.AppConstants;
 import org.uvhnael.ktal.dto.response.BlogSummary;
 import org.uvhnael.ktal.dto.response.ChatResponse;
 import org.uvhnael.ktal.dto.response.DetailedChatResponse;
 import org.uvhnael.ktal.dto.response.DetailedSimilarityResult;
 import org.uvhnael.ktal.model.Blog;
+import org.uvhnael.ktal.model.ChatSession;
 import org.uvhnael.ktal.service.MilvusService.SimilarityResult;
+import org.uvhnael.ktal.utils.Deadline;
+import org.uvhnael.ktal.utils.HtmlCleaner;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +35,12 @@ public class ChatService {
     private final MilvusService milvusService;
     private final EmbeddingService embeddingService;
     private final OpenAIService openAIService;
+    private final ExecutorService chatExecutor;
+    private final ChatSessionService chatSessionService;
+    private final RerankService rerankService;
+
+    @Value("${chat.response-timeout-seconds:" + AppConstants.Chat.DEFAULT_RESPONSE_TIMEOUT + "}")
+    private long responseTimeoutSeconds;
 
     /**
      * Tìm kiếm blog liên quan dựa trên câu hỏi của user
@@ -68,50 +87,76 @@ public class ChatService {
 //        }
 //    }
     public ChatResponse searchAndAnswer(String userQuery, int maxResults) {
+        return searchAndAnswer(userQuery, maxResults, null);
+    }
+
+    /**
+     * Trả lời trong ngữ cảnh một phiên chat (sessionId null = không lưu lịch sử)
+     */
+    public ChatResponse searchAndAnswer(String userQuery, int maxResults, String sessionId) {
         try {
             if (userQuery == null || userQuery.trim().isEmpty()) {
                 return ChatResponse.builder()
                         .query(userQuery)
                         .answer("Xin lỗi, tôi cần một câu hỏi để có thể tìm kiếm thông tin cho bạn.")
                         .relatedBlogs(List.of())
+                        .sessionId(sessionId)
                         .build();
             }
 
-            // 1. Tìm blog liên quan
-            List<Blog> relatedBlogs = blogService.findSimilarBlogs(userQuery.trim(), maxResults);
+            Deadline deadline = Deadline.afterSeconds(responseTimeoutSeconds);
+            ChatSession session = sessionId != null ? chatSessionService.getOrCreate(sessionId) : null;
+            if (session != null) {
+                // Id không hợp lệ được thay bằng id mới
+                sessionId = session.getId();
+            }
+
+            // 1. Tìm blog liên quan (câu hỏi nối tiếp gần giống câu trước -> dùng lại kết quả cũ)
+            float[] queryEmbedding = embeddingService.generateEmbedding(userQuery.trim());
+            List<SimilarityResult> hits = session != null
+                    ? chatSessionService.reusableHits(session, queryEmbedding)
+                    : null;
+            if (hits == null) {
+                // Lấy dư ứng viên rồi rerank, chỉ giữ maxResults đoạn tốt nhất cho prompt
+                hits = milvusService.searchSimilar(queryEmbedding, rerankService.candidateCount(maxResults), deadline);
+                hits = rerankService.rerank(userQuery.trim(), hits, maxResults, deadline);
+            }
 
-            if (relatedBlogs.isEmpty()) {
+            if (hits.isEmpty()) {
                 return ChatResponse.builder()
                         .query(userQuery)
                         .answer("Tôi không tìm thấy thông tin liên quan đến câu hỏi của bạn. Bạn có thể thử với từ khóa khác không?")
                         .relatedBlogs(List.of())
+                        .sessionId(sessionId)
                         .build();
             }
 
-            // 2. Ghép context từ blog
-            StringBuilder context = new StringBuilder();
-            for (Blog blog : relatedBlogs) {
-                context.append("Tiêu đề: ").append(blog.getTitle()).append("\n");
-                String cleanContent = blog.getContent().replaceAll("<[^>]*>", "");
-                context.append(cleanContent).append("\n\n");
-            }
+            // 2. Lấy metadata blog từ MySQL song song với việc gọi LLM
+            List<Long> blogIds = toBlogIds(hits);
+            CompletableFuture<List<Blog>> blogsFuture = CompletableFuture.supplyAsync(
+                    () -> blogService.findByIds(blogIds), chatExecutor);
+
+            // 3. Ghép context từ text đã lưu trong Milvus và gọi LLM
+            // (LLM chậm / lỗi / circuit mở -> trả lời bằng trích đoạn)
+            String history = session != null ? chatSessionService.conversationContext(session) : "";
+            String prompt = buildPrompt(userQuery, hits, history);
+            String answer = openAIService.ask(prompt, deadline,
+                    () -> generateAnswer(userQuery, blogsWithin(blogsFuture, deadline)));
 
-            // 3. Tạo prompt cho LLM
-            String prompt = "Bạn là một trợ lý AI. Hãy dựa vào ngữ cảnh sau để trả lời câu hỏi 1 cách ngắn gọn, tự nhiên, như giữa 2 người nhắn tin với nhau.\n\n"
-                    + "Ngữ cảnh:\n" + context
-                    + "\n\nCâu hỏi: " + userQuery
-                    + "\n\nCâu trả lời:";
+            List<Blog> relatedBlogs = blogsWithin(blogsFuture, deadline);
 
-            // 4. Gọi LLM
-            String openAIAnswer = openAIService.ask(prompt);
+            if (session != null) {
+                chatSessionService.recordTurn(session, userQuery, answer, queryEmbedding, hits);
+            }
 
-            // 5. Build response
+            // 4. Build response
             return ChatResponse.builder()
                     .query(userQuery)
-                    .answer(openAIAnswer)
+                    .answer(answer)
                     .relatedBlogs(relatedBlogs.stream()
                             .map(this::convertToBlogSummary)
                             .collect(Collectors.toList()))
+                    .sessionId(sessionId)
                     .build();
 
         } catch (Exception e) {
@@ -120,6 +165,7 @@ public class ChatService {
                     .query(userQuery)
                     .answer("Xin lỗi, đã có lỗi xảy ra khi xử lý câu hỏi của bạn. Vui lòng thử lại sau.")
                     .relatedBlogs(List.of())
+                    .sessionId(sessionId)
                     .build();
         }
     }
@@ -137,11 +183,15 @@ public class ChatService {
                         .build();
             }
 
+            Deadline deadline = Deadline.afterSeconds(responseTimeoutSeconds);
+
             // Generate embedding cho query
             float[] queryEmbedding = embeddingService.generateEmbedding(userQuery.trim());
 
             // Tìm kiếm tương tự
-            List<SimilarityResult> similarityResults = milvusService.searchSimilar(queryEmbedding, maxResults);
+            List<SimilarityResult> similarityResults = milvusService.searchSimilar(
+                    queryEmbedding, rerankService.candidateCount(maxResults), deadline);
+            similarityResults = rerankService.rerank(userQuery.trim(), similarityResults, maxResults, deadline);
 
             if (similarityResults.isEmpty()) {
                 return DetailedChatResponse.builder()
@@ -151,12 +201,14 @@ public class ChatService {
                         .build();
             }
 
-            // Convert similarity results to detailed results
+            // Convert similarity results to detailed results (một query cho tất cả blog)
+            Map<Long, Blog> blogsById = blogService.findByIds(toBlogIds(similarityResults)).stream()
+                    .collect(Collectors.toMap(Blog::getId, Function.identity()));
             List<DetailedSimilarityResult> detailedResults = similarityResults.stream()
                     .map(result -> {
                         try {
                             Long blogId = Long.parseLong(result.getId());
-                            Blog blog = blogService.findById(blogId).orElse(null);
+                            Blog blog = blogsById.get(blogId);
                             return DetailedSimilarityResult.builder()
                                     .blog(blog != null ? convertToBlogSummary(blog) : null)
                                     .similarityScore(result.getScore())
@@ -177,7 +229,7 @@ public class ChatService {
                         Blog blog = new Blog();
                         blog.setId(summary.getId());
                         blog.setTitle(summary.getTitle());
-                        blog.setContent(summary.getSummary());
+                        blog.setPlainText(summary.getSummary());
                         blog.setSlug(summary.getSlug());
                         return blog;
                     })
@@ -201,6 +253,50 @@ public class ChatService {
         }
     }
 
+    /**
+     * Tạo prompt từ text đã lưu trong Milvus (tiêu đề + nội dung plain text)
+     */
+    private String buildPrompt(String userQuery, List<SimilarityResult> hits, String history) {
+        StringBuilder context = new StringBuilder();
+        for (SimilarityResult hit : hits) {
+            context.append(hit.getText()).append("\n\n");
+        }
+
+        return "Bạn là một trợ lý AI. Hãy dựa vào ngữ cảnh sau để trả lời câu hỏi 1 cách ngắn gọn, tự nhiên, như giữa 2 người nhắn tin với nhau.\n\n"
+                + "Ngữ cảnh:\n" + context
+                + (history.isEmpty() ? "" : "\nLịch sử hội thoại:\n" + history)
+                + "\n\nCâu hỏi: " + userQuery
+                + "\n\nCâu trả lời:";
+    }
+
+    private List<Long> toBlogIds(List<SimilarityResult> hits) {
+        List<Long> ids = new ArrayList<>();
+        for (SimilarityResult hit : hits) {
+            try {
+                ids.add(Long.parseLong(hit.getId()));
+            } catch (NumberFormatException e) {
+                log.warn("Invalid blog ID: {}", hit.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Metadata blog nếu có trước deadline, ngược lại danh sách rỗng
+     */
+    private List<Blog> blogsWithin(CompletableFuture<List<Blog>> blogsFuture, Deadline deadline) {
+        try {
+            return blogsFuture.get(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Blog metadata not loaded before the deadline, answering without it");
+        } catch (ExecutionException e) {
+            log.warn("Error loading blog metadata: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return List.of();
+    }
+
     /**
      * Generate answer dựa trên các blog liên quan
      */
@@ -217,14 +313,10 @@ public class ChatService {
             Blog blog = relatedBlogs.get(i);
             answer.append("📝 **").append(blog.getTitle()).append("**\n");
 
-            // Tạo excerpt từ content
-            String content = blog.getContent();
-            if (content != null && !content.isEmpty()) {
-                String cleanContent = content.replaceAll("<[^>]*>", ""); // Remove HTML tags
-                String excerpt = cleanContent.length() > 200
-                        ? cleanContent.substring(0, 200) + "..."
-                        : cleanContent;
-                answer.append(excerpt).append("\n\n");
+            // Tạo excerpt từ plain text đã tính sẵn
+            String plainText = plainTextOf(blog);
+            if (!plainText.isEmpty()) {
+                answer.append(HtmlCleaner.excerpt(plainText, AppConstants.Defaults.CHAT_EXCERPT_LENGTH)).append("\n\n");
             }
         }
 
@@ -241,13 +333,9 @@ public class ChatService {
      * Convert Blog to BlogSummary for response
      */
     private BlogSummary convertToBlogSummary(Blog blog) {
-        String summary = "";
-        if (blog.getContent() != null) {
-            String cleanContent = blog.getContent().replaceAll("<[^>]*>", "");
-            summary = cleanContent.length() > 150
-                    ? cleanContent.substring(0, 150) + "..."
-                    : cleanContent;
-        }
+        String summary = blog.getSummary() != null
+                ? blog.getSummary()
+                : HtmlCleaner.excerpt(plainTextOf(blog), AppConstants.Defaults.BLOG_SUMMARY_LENGTH);
 
         return BlogSummary.builder()
                 .id(blog.getId())
@@ -257,5 +345,15 @@ public class ChatService {
                 .build();
     }
 
+    /**
+     * Plain text được tính lúc ghi; chỉ parse HTML khi blog cũ chưa được backfill
+     */
+    private String plainTextOf(Blog blog) {
+        if (blog.getPlainText() != null) {
+            return blog.getPlainText();
+        }
+        return HtmlCleaner.cleanHtml(blog.getContent());
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,309 @@
+package org.uvhnael.ktal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.uvhnael.ktal.constants.AppConstants;
+import org.uvhnael.ktal.model.ChatSession;
+import org.uvhnael.ktal.model.ChatTurn;
+import org.uvhnael.ktal.repository.ChatSessionRepository;
+import org.uvhnael.ktal.service.MilvusService.SimilarityResult;
+import org.uvhnael.ktal.utils.HtmlCleaner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Server-side chat history.
+ * <p>
+ * Sessions live in an access-ordered map bounded by size and TTL. When
+ * {@code chat.session.persist} is enabled, sessions evicted from memory are
+ * written to MySQL and loaded back on the next request.
+ * Only the last few turns are sent verbatim to the LLM; older turns are folded
+ * into a short summary so prompt size stays flat as the conversation grows.
+ * Session ids are server-issued UUIDs; any other id gets a new session.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatSessionService {
+
+    private final ChatSessionRepository chatSessionRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${chat.session.max-sessions:10000}")
+    private int maxSessions;
+
+    @Value("${chat.session.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    @Value("${chat.session.recent-turns:4}")
+    private int recentTurns;
+
+    @Value("${chat.session.summary-max-chars:1500}")
+    private int summaryMaxChars;
+
+    @Value("${chat.session.reuse-threshold:0.9}")
+    private double reuseThreshold;
+
+    @Value("${chat.session.persist:false}")
+    private boolean persist;
+
+    @Value("${chat.session.persist-retention-days:7}")
+    private long persistRetentionDays;
+
+    private Map<String, ChatSession> sessions;
+
+    // Phiên bị đẩy khỏi LRU, chờ spill ngoài khoá của map
+    private final Queue<ChatSession> evicted = new ConcurrentLinkedQueue<>();
+
+    @PostConstruct
+    public void init() {
+        // LRU: phiên ít dùng nhất bị đẩy ra (và spill xuống MySQL nếu bật)
+        this.sessions = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ChatSession> eldest) {
+                if (size() > maxSessions) {
+                    evicted.add(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    public ChatSession create() {
+        ChatSession session = new ChatSession(UUID.randomUUID().toString());
+        put(session);
+        log.debug("Chat session created: {}", session.getId());
+        return session;
+    }
+
+    public Optional<ChatSession> find(String sessionId) {
+        if (!isValidId(sessionId)) {
+            return Optional.empty();
+        }
+        ChatSession session = sessions.get(sessionId);
+        if (session == null && persist) {
+            session = load(sessionId);
+            if (session != null) {
+                put(session);
+            }
+        }
+        if (session != null) {
+            session.setLastAccessedAt(System.currentTimeMillis());
+        }
+        return Optional.ofNullable(session);
+    }
+
+    /**
+     * Session with this id, or a new session (with a new id) when it is unknown
+     * or not a server-issued id; callers must use the returned session's id.
+     */
+    public ChatSession getOrCreate(String sessionId) {
+        if (!isValidId(sessionId)) {
+            return create();
+        }
+        // Không nhận id do client tự đặt: id lạ luôn được thay bằng id mới
+        return find(sessionId).orElseGet(this::create);
+    }
+
+    public boolean end(String sessionId) {
+        if (!isValidId(sessionId)) {
+            return false;
+        }
+        boolean removed = sessions.remove(sessionId) != null;
+        if (persist) {
+            removed |= chatSessionRepository.deleteById(sessionId) > 0;
+        }
+        return removed;
+    }
+
+    /**
+     * Conversation context for the prompt: summary of older turns plus the recent turns verbatim.
+     */
+    public String conversationContext(ChatSession session) {
+        synchronized (session) {
+            if (session.getTurns().isEmpty()) {
+                return "";
+            }
+            StringBuilder context = new StringBuilder();
+            if (!session.getSummary().isEmpty()) {
+                context.append("Tóm tắt hội thoại trước:\n").append(session.getSummary()).append("\n");
+            }
+            List<ChatTurn> turns = session.getTurns();
+            context.append("Các lượt gần đây:\n");
+            for (ChatTurn turn : turns.subList(Math.max(0, turns.size() - recentTurns), turns.size())) {
+                context.append("Người dùng: ").append(turn.getQuery()).append("\n");
+                context.append("Trợ lý: ").append(turn.getAnswer()).append("\n");
+            }
+            return context.toString();
+        }
+    }
+
+    /**
+     * Previous turn's retrieval results when the new query is close enough to the last one.
+     *
+     * @return hits to reuse, or null when a fresh search is needed
+     */
+    public List<SimilarityResult> reusableHits(ChatSession session, float[] queryEmbedding) {
+        synchronized (session) {
+            if (session.getLastHits() == null || session.getLastHits().isEmpty()
+                    || session.getLastQueryEmbedding() == null) {
+                return null;
+            }
+            double similarity = cosineSimilarity(session.getLastQueryEmbedding(), queryEmbedding);
+            if (similarity < reuseThreshold) {
+                return null;
+            }
+            log.debug("Reusing {} retrieved blogs for session {} (similarity {})",
+                    session.getLastHits().size(), session.getId(), similarity);
+            return session.getLastHits();
+        }
+    }
+
+    public void recordTurn(ChatSession session, String query, String answer,
+                           float[] queryEmbedding, List<SimilarityResult> hits) {
+        synchronized (session) {
+            List<ChatTurn> turns = session.getTurns();
+            turns.add(new ChatTurn(query, answer, System.currentTimeMillis()));
+
+            // Lượt vừa rơi khỏi cửa sổ gần đây -> gộp vào tóm tắt
+            if (turns.size() > recentTurns) {
+                foldIntoSummary(session, turns.get(turns.size() - recentTurns - 1));
+            }
+            while (turns.size() > AppConstants.Chat.MAX_CONVERSATION_HISTORY) {
+                turns.remove(0);
+            }
+
+            session.setLastQueryEmbedding(queryEmbedding);
+            session.setLastHits(hits);
+            session.setLastAccessedAt(System.currentTimeMillis());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.session.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long expiredBefore = System.currentTimeMillis() - Duration.ofMinutes(ttlMinutes).toMillis();
+        List<ChatSession> expired = new ArrayList<>();
+        synchronized (sessions) {
+            Iterator<ChatSession> iterator = sessions.values().iterator();
+            while (iterator.hasNext()) {
+                ChatSession session = iterator.next();
+                if (session.getLastAccessedAt() < expiredBefore) {
+                    expired.add(session);
+                    iterator.remove();
+                }
+            }
+        }
+        expired.forEach(this::spill);
+
+        if (persist) {
+            long retentionCutoff = System.currentTimeMillis() - Duration.ofDays(persistRetentionDays).toMillis();
+            chatSessionRepository.deleteOlderThan(retentionCutoff);
+        }
+        if (!expired.isEmpty()) {
+            log.debug("Evicted {} expired chat sessions, {} remain in memory", expired.size(), sessions.size());
+        }
+    }
+
+    private void foldIntoSummary(ChatSession session, ChatTurn turn) {
+        String line = "- Hỏi: " + HtmlCleaner.excerpt(turn.getQuery(), 100)
+                + " | Đáp: " + HtmlCleaner.excerpt(turn.getAnswer(), 150) + "\n";
+        String summary = session.getSummary() + line;
+        // Giữ phần mới nhất khi tóm tắt quá dài
+        if (summary.length() > summaryMaxChars) {
+            int cut = summary.indexOf('\n', summary.length() - summaryMaxChars);
+            summary = cut >= 0 ? summary.substring(cut + 1) : line;
+        }
+        session.setSummary(summary);
+    }
+
+    private void put(ChatSession session) {
+        sessions.put(session.getId(), session);
+        // Ghi MySQL sau khi đã nhả khoá, không chặn các request khác
+        ChatSession eldest;
+        while ((eldest = evicted.poll()) != null) {
+            spill(eldest);
+        }
+    }
+
+    /**
+     * Canonical UUID string as issued by {@link #create()}
+     */
+    static boolean isValidId(String sessionId) {
+        if (sessionId == null || sessionId.length() != 36) {
+            return false;
+        }
+        try {
+            return UUID.fromString(sessionId).toString().equals(sessionId);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void spill(ChatSession session) {
+        if (!persist) {
+            return;
+        }
+        try {
+            // Serialize dưới lock của session để không đọc turns khi recordTurn đang sửa
+            String json;
+            synchronized (session) {
+                if (session.getTurns().isEmpty()) {
+                    return;
+                }
+                json = objectMapper.writeValueAsString(session);
+            }
+            chatSessionRepository.upsert(session.getId(), json, session.getLastAccessedAt());
+        } catch (Exception e) {
+            log.error("Error spilling chat session {}: {}", session.getId(), e.getMessage(), e);
+        }
+    }
+
+    private ChatSession load(String sessionId) {
+        try {
+            return chatSessionRepository.findJsonById(sessionId)
+                    .map(json -> {
+                        try {
+                            return objectMapper.readValue(json, ChatSession.class);
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    })
+                    .orElse(null);
+        } catch (Exception e) {
+            log.error("Error loading chat session {}: {}", sessionId, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static double cosineSimilarity(float[] a, float[] b) {
+        if (a.length != b.length) {
+            return 0;
+        }
+        double dot = 0, normA = 0, normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        if (normA == 0 || normB == 0) {
+            return 0;
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+}
@@ -2,11 +2,18 @@ package org.uvhnael.ktal.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.uvhnael.ktal.dto.response.CursorPageResponse;
+import org.uvhnael.ktal.dto.response.PageResponse;
+import org.uvhnael.ktal.event.EntityChangeBus;
+import org.uvhnael.ktal.event.EntityChangedEvent.ChangeType;
+import org.uvhnael.ktal.event.EntityChangedEvent.EntityType;
+import org.uvhnael.ktal.event.EntityDimensions;
 import org.uvhnael.ktal.model.Contact;
 import org.uvhnael.ktal.repository.ContactRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -14,38 +21,97 @@ import java.util.Optional;
 public class ContactService {
 
     private final ContactRepository contactRepository;
+    private final EntityChangeBus entityChangeBus;
 
     public List<Contact> findAll() {
         return contactRepository.findAll();
     }
 
+    public PageResponse<Contact> findPage(String status, Long serviceId, String handledBy, String search, int page, int size) {
+        return contactRepository.findPage(status, serviceId, handledBy, search, page, size);
+    }
+
+    public CursorPageResponse<Contact> findAfter(String status, Long serviceId, String handledBy, String search, String cursor, int size) {
+        return contactRepository.findAfter(status, serviceId, handledBy, search, cursor, size);
+    }
+
+    public List<Contact> findRecent(int limit) {
+        return contactRepository.findRecent(limit);
+    }
+
     public Optional<Contact> findById(Long id) {
         return contactRepository.findById(id);
     }
 
     public Contact create(Contact contact) {
         contact.setStatus("Đang chờ xử lý");
-        contact.setCreatedAt(LocalDateTime.now().toString());
-        return contactRepository.save(contact);
+        contact.setCreatedAt(LocalDateTime.now());
+        Contact saved = contactRepository.save(contact);
+        entityChangeBus.publish(EntityType.CONTACT, ChangeType.CREATED, saved.getId(), Map.of(), EntityDimensions.of(saved));
+        return saved;
+    }
+
+    public List<Contact> createAll(List<Contact> contacts) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Contact contact : contacts) {
+            contact.setStatus("Đang chờ xử lý");
+            contact.setCreatedAt(now);
+        }
+        List<Contact> saved = contactRepository.saveAll(contacts);
+        saved.forEach(c -> entityChangeBus.publish(EntityType.CONTACT, ChangeType.CREATED, c.getId(),
+                Map.of(), EntityDimensions.of(c)));
+        return saved;
     }
 
     public int update(Contact contact) {
-        return contactRepository.update(contact);
+        Map<String, String> before = dimensions(contact.getId());
+        int result = contactRepository.update(contact);
+        publishIfChanged(result, ChangeType.UPDATED, contact.getId(), before);
+        return result;
     }
 
     public int delete(Long id) {
-        return contactRepository.deleteById(id);
+        Map<String, String> before = dimensions(id);
+        int result = contactRepository.deleteById(id);
+        publishIfChanged(result, ChangeType.DELETED, id, before);
+        return result;
     }
 
     public int updateNote(Long id, String note) {
-        return contactRepository.updateNote(id, note);
+        int result = contactRepository.updateNote(id, note);
+        // Ghi chú không thuộc chiều thống kê nào
+        if (result > 0) {
+            entityChangeBus.publish(EntityType.CONTACT, ChangeType.UPDATED, id);
+        }
+        return result;
     }
 
     public int updateStatus(Long id, String status) {
-        return contactRepository.updateStatus(id, status);
+        Map<String, String> before = dimensions(id);
+        int result = contactRepository.updateStatus(id, status);
+        publishIfChanged(result, ChangeType.UPDATED, id, before);
+        return result;
+    }
+
+    public int updateHandled(Long handleBy, LocalDateTime handledAt, Long id) {
+        Map<String, String> before = dimensions(id);
+        int result = contactRepository.updateHandled(handleBy, handledAt, id);
+        publishIfChanged(result, ChangeType.UPDATED, id, before);
+        return result;
+    }
+
+    private Map<String, String> dimensions(Long id) {
+        return contactRepository.findById(id).map(EntityDimensions::of).orElse(Map.of());
     }
 
-    public int updateHandled(Long handleBy, String handledAt, Long id) {
-        return contactRepository.updateHandled(handleBy, handledAt, id);
+    /**
+     * Publishes the change with the contact's dimensions before and after the
+     * write; the "after" side is re-read since partial updates only touch some columns.
+     */
+    private void publishIfChanged(int rows, ChangeType changeType, Long id, Map<String, String> before) {
+        if (rows > 0) {
+            Map<String, String> after = changeType == ChangeType.DELETED ? Map.of() : dimensions(id);
+            entityChangeBus.publish(EntityType.CONTACT, changeType, id, before, after);
+        }
     }
 }
@@ -0,0 +1,244 @@
+package org.uvhnael.ktal.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.uvhnael.ktal.constants.AppConstants;
+import org.uvhnael.ktal.event.EntityChangedEvent;
+import org.uvhnael.ktal.event.EntityChangedEvent.ChangeType;
+import org.uvhnael.ktal.event.EntityDimensions;
+import org.uvhnael.ktal.repository.AggregationRepository;
+
+import java.text.Normalizer;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Dashboard counts kept in memory and maintained incrementally: every
+ * {@link EntityChangedEvent} decrements the counters of the entity's old
+ * dimension values and increments those of the new ones, so reading the
+ * overview is a handful of map lookups instead of table scans.
+ * <p>
+ * Counters are seeded from SQL at startup and reconciled periodically, which
+ * also corrects drift from events lost between instances.
+ * <p>
+ * A reconcile is only applied when no event arrived while its SQL snapshot was
+ * taken; otherwise it is retried, so increments are not overwritten. Events
+ * are applied under a shared lock and deltas under an exclusive one. The
+ * remaining race is a write committed before the snapshot whose event is
+ * published after the delta: it is counted twice until the next reconcile.
+ * <p>
+ * Dimension values are compared case- and accent-insensitively, like the
+ * default MySQL collation that groups them in the reconcile query; otherwise
+ * "Tin tức" from an event and "tin tuc" from SQL would be separate counters
+ * and every reconcile would report drift.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCounters {
+
+    private static final String TOTAL = "total";
+    private static final int RECONCILE_ATTEMPTS = 3;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final AggregationRepository aggregationRepository;
+    private final MeterRegistry meterRegistry;
+
+    // "blog.status" -> "published" -> count
+    private final Map<String, Map<String, LongAdder>> counters = new ConcurrentHashMap<>();
+
+    // "blog.category" -> giá trị đã chuẩn hoá -> cách viết gặp đầu tiên, để hiển thị
+    private final Map<String, Map<String, String>> labels = new ConcurrentHashMap<>();
+
+    // Tăng mỗi khi có sự kiện, để biết snapshot SQL có bị sự kiện chen vào không
+    private final AtomicLong version = new AtomicLong();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    /**
+     * Whether the counters have been seeded from the database at least once.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        lock.readLock().lock();
+        try {
+            version.incrementAndGet();
+            apply(event);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(EntityChangedEvent event) {
+        String prefix = event.entityType().name().toLowerCase(Locale.ROOT);
+        if (event.changeType() == ChangeType.CREATED) {
+            counter(prefix + "." + TOTAL, "").increment();
+        } else if (event.changeType() == ChangeType.DELETED) {
+            counter(prefix + "." + TOTAL, "").decrement();
+        }
+        // Bỏ qua chiều không xác định để bản đồ bộ đếm không phình theo dữ liệu gửi tới
+        event.before().forEach((dimension, value) -> {
+            if (EntityDimensions.NAMES.contains(dimension)) {
+                counter(prefix + "." + dimension, value).decrement();
+            }
+        });
+        event.after().forEach((dimension, value) -> {
+            if (EntityDimensions.NAMES.contains(dimension)) {
+                counter(prefix + "." + dimension, value).increment();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reconcile();
+        log.info("Dashboard counters seeded: {} blogs, {} projects, {} services, {} contacts",
+                total("blog"), total("project"), total("service"), total("contact"));
+    }
+
+    /**
+     * Brings every counter to the value SQL reports, by adding the difference so
+     * increments made concurrently are not overwritten.
+     */
+    @Scheduled(initialDelayString = "${dashboard.counters.reconcile-interval-ms:300000}",
+            fixedDelayString = "${dashboard.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+                long snapshotVersion = version.get();
+                Map<String, Map<String, Long>> fresh = new LinkedHashMap<>();
+                aggregationRepository.dimensionCounts().forEach((key, values) -> {
+                    Map<String, Long> normalized = fresh.computeIfAbsent(key, k -> new LinkedHashMap<>());
+                    values.forEach((value, count) -> normalized.merge(normalize(key, value), count, Long::sum));
+                });
+                // Lần seed đầu vẫn áp dụng dù có sự kiện chen vào; lần đối soát sau sẽ sửa
+                if (applyIfUnchanged(fresh, snapshotVersion, !ready)) {
+                    return;
+                }
+            }
+            log.debug("Dashboard counters not reconciled: writes kept arriving during the snapshot");
+        } catch (Exception e) {
+            log.error("Error reconciling dashboard counters: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean applyIfUnchanged(Map<String, Map<String, Long>> fresh, long snapshotVersion, boolean force) {
+        lock.writeLock().lock();
+        try {
+            if (version.get() != snapshotVersion && !force) {
+                return false;
+            }
+            long drift = 0;
+            Set<String> keys = new HashSet<>(counters.keySet());
+            keys.addAll(fresh.keySet());
+            for (String key : keys) {
+                Map<String, Long> expected = fresh.getOrDefault(key, Map.of());
+                Set<String> values = new HashSet<>(expected.keySet());
+                values.addAll(counters.getOrDefault(key, Map.of()).keySet());
+                for (String value : values) {
+                    LongAdder counter = counter(key, value);
+                    long delta = expected.getOrDefault(value, 0L) - counter.sum();
+                    if (delta != 0) {
+                        counter.add(delta);
+                        drift += Math.abs(delta);
+                    }
+                }
+            }
+
+            if (ready && drift > 0) {
+                log.warn("Dashboard counters drifted by {} and were reconciled", drift);
+                meterRegistry.counter("dashboard.counters.drift").increment(drift);
+            }
+            ready = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Same keys as the per-table overview counts of {@link AggregationRepository}.
+     */
+    public Map<String, Long> overview() {
+        Map<String, Long> overview = new LinkedHashMap<>();
+        overview.put("totalBlogs", total("blog"));
+        overview.put("publishedBlogs", count("blog.status", AppConstants.EntityStatus.PUBLISHED));
+        overview.put("draftBlogs", count("blog.status", AppConstants.EntityStatus.DRAFT));
+        overview.put("totalProjects", total("project"));
+        overview.put("activeProjects", count("project.status", AppConstants.EntityStatus.ACTIVE));
+        overview.put("completedProjects", count("project.status", AppConstants.EntityStatus.COMPLETED));
+        overview.put("totalServices", total("service"));
+        overview.put("servicesWithFeatures", count("service.features", EntityDimensions.WITH_FEATURES));
+        overview.put("totalContacts", total("contact"));
+        overview.put("pendingContacts", count("contact.status", AppConstants.EntityStatus.PENDING));
+        overview.put("handledContacts", count("contact.status", AppConstants.EntityStatus.HANDLED));
+        return overview;
+    }
+
+    /**
+     * Non-zero counts of one dimension, e.g. {@code distribution("blog.category")};
+     * entities without a value for it are left out. Values are shown as first
+     * written, not in their folded form.
+     */
+    public Map<String, Long> distribution(String key) {
+        Map<String, String> keyLabels = labels.getOrDefault(key, Map.of());
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        counters.getOrDefault(key, Map.of()).forEach((value, counter) -> {
+            long count = counter.sum();
+            if (!value.isEmpty() && count != 0) {
+                distribution.put(keyLabels.getOrDefault(value, value), count);
+            }
+        });
+        return distribution;
+    }
+
+    private long total(String entity) {
+        return count(entity + "." + TOTAL, "");
+    }
+
+    private long count(String key, String value) {
+        Map<String, LongAdder> values = counters.get(key);
+        LongAdder counter = values != null ? values.get(fold(value)) : null;
+        return counter != null ? counter.sum() : 0;
+    }
+
+    private LongAdder counter(String key, String value) {
+        return counters.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(normalize(key, value), v -> new LongAdder());
+    }
+
+    private String normalize(String key, String value) {
+        String normalized = fold(value);
+        labels.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).putIfAbsent(normalized, value);
+        return normalized;
+    }
+
+    /**
+     * Key under which MySQL's accent- and case-insensitive collation considers
+     * two values equal: combining marks removed, lowercased, and "đ" (which has
+     * no decomposition) read as "d"
+     */
+    static String fold(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).replace('đ', 'd');
+    }
+}
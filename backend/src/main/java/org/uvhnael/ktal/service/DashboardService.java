@@ -0,0 +1,108 @@
+package org.uvhnael.ktal.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.uvhnael.ktal.constants.AppConstants;
+import org.uvhnael.ktal.repository.AggregationRepository;
+import org.uvhnael.ktal.utils.Deadline;
+import org.uvhnael.ktal.utils.FanOut;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Dashboard endpoints that combine several entity types. The per-entity
+ * queries run in parallel on the bounded dashboard executor under one shared
+ * deadline; a section that fails or misses the deadline is left out and named
+ * under {@code "errors"} while the other sections are still returned.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardService {
+
+    public static final String ERRORS = "errors";
+
+    private final BlogService blogService;
+    private final ProjectService projectService;
+    private final ContactService contactService;
+    private final SearchService searchService;
+    private final DashboardCounters dashboardCounters;
+    private final AggregationRepository aggregationRepository;
+    private final ThreadPoolExecutor dashboardExecutor;
+
+    @Value("${dashboard.fanout.timeout-ms:2000}")
+    private long timeoutMs;
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> overview() {
+        if (dashboardCounters.isReady()) {
+            return new HashMap<>(dashboardCounters.overview());
+        }
+        // Bộ đếm chưa nạp xong: đếm trực tiếp trên từng bảng, song song
+        FanOut.Result result = fanOut()
+                .fork("blogs", aggregationRepository::blogOverview)
+                .fork("projects", aggregationRepository::projectOverview)
+                .fork("services", aggregationRepository::serviceOverview)
+                .fork("contacts", aggregationRepository::contactOverview)
+                .join();
+
+        Map<String, Object> overview = new HashMap<>();
+        result.values().values().forEach(counts -> overview.putAll((Map<String, ?>) counts));
+        return withErrors(overview, result);
+    }
+
+    public Map<String, Object> recentActivities() {
+        FanOut.Result result = fanOut()
+                .fork("recentBlogs", () -> blogService.findRecent(AppConstants.Defaults.DEFAULT_RECENT_LIMIT / 2))
+                .fork("recentProjects", () -> projectService.findRecent(AppConstants.Defaults.DEFAULT_RECENT_LIMIT / 2))
+                .fork("recentContacts", () -> contactService.findRecent(AppConstants.Defaults.DEFAULT_RECENT_LIMIT))
+                .join();
+
+        Map<String, Object> activities = new HashMap<>();
+        for (String section : List.of("recentBlogs", "recentProjects", "recentContacts")) {
+            activities.put(section, result.get(section, List.of()));
+        }
+        return withErrors(activities, result);
+    }
+
+    /**
+     * Top matches of each entity type plus {@code totalResults}
+     */
+    public Map<String, Object> globalSearch(String searchTerm) {
+        int limit = AppConstants.Defaults.DEFAULT_SEARCH_LIMIT;
+        FanOut.Result result = fanOut()
+                .fork("blogs", () -> searchService.searchBlogs(searchTerm, limit))
+                .fork("projects", () -> searchService.searchProjects(searchTerm, limit))
+                .fork("services", () -> searchService.searchServices(searchTerm, limit))
+                .fork("contacts", () -> searchService.searchContacts(searchTerm, limit))
+                .join();
+
+        Map<String, Object> searchResults = new HashMap<>();
+        int totalResults = 0;
+        for (String section : List.of("blogs", "projects", "services", "contacts")) {
+            List<?> hits = result.get(section, List.of());
+            searchResults.put(section, hits);
+            totalResults += hits.size();
+        }
+        searchResults.put("totalResults", totalResults);
+        return withErrors(searchResults, result);
+    }
+
+    private FanOut fanOut() {
+        return FanOut.on(dashboardExecutor, Deadline.after(Duration.ofMillis(timeoutMs)));
+    }
+
+    private static Map<String, Object> withErrors(Map<String, Object> response, FanOut.Result result) {
+        if (result.isPartial()) {
+            log.warn("Dashboard query returned partial results: {}", result.errors());
+            response.put(ERRORS, result.errors());
+        }
+        return response;
+    }
+}
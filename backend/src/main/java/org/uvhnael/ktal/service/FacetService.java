@@ -0,0 +1,51 @@
+package org.uvhnael.ktal.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.uvhnael.ktal.constants.AppConstants;
+import org.uvhnael.ktal.dto.response.Facets;
+import org.uvhnael.ktal.repository.AggregationRepository;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Filter facets (distinct values with counts) computed with GROUP BY in one
+ * round-trip and cached as a single entry. Any blog, project or service write,
+ * local or on another instance, clears the entry through
+ * {@link CacheEvictionService}.
+ */
+@Service
+@RequiredArgsConstructor
+public class FacetService {
+
+    private final AggregationRepository aggregationRepository;
+
+    @Cacheable(cacheNames = AppConstants.Cache.FACET_CACHE, key = "'all'")
+    public Facets facets() {
+        Map<String, Map<String, Long>> distributions = aggregationRepository.facetDistributions();
+
+        Map<Integer, Long> projectYears = new TreeMap<>(Comparator.reverseOrder());
+        distributions.getOrDefault("year", Map.of())
+                .forEach((year, count) -> projectYears.put(Integer.valueOf(year), count));
+
+        return new Facets(
+                sorted(distributions.get("category")),
+                sorted(distributions.get("area")),
+                Collections.unmodifiableMap(new LinkedHashMap<>(projectYears)),
+                sorted(distributions.get("price")));
+    }
+
+    private static Map<String, Long> sorted(Map<String, Long> counts) {
+        if (counts == null) {
+            return Map.of();
+        }
+        Map<String, Long> sorted = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        sorted.putAll(counts);
+        return Collections.unmodifiableMap(new LinkedHashMap<>(sorted));
+    }
+}
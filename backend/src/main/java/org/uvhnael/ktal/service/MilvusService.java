@@ -22,8 +22,11 @@ import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.uvhnael.ktal.utils.Deadline;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
@@ -268,6 +271,13 @@ public class MilvusService {
     }
 
     public List<SimilarityResult> searchSimilar(float[] embedding, int topK) {
+        return searchSimilar(embedding, topK, null);
+    }
+
+    /**
+     * Search with the remaining time of the request deadline applied as gRPC timeout
+     */
+    public List<SimilarityResult> searchSimilar(float[] embedding, int topK, Deadline deadline) {
         try {
             if (embedding == null || embedding.length != embeddingDim) {
                 throw new IllegalArgumentException(
@@ -298,7 +308,15 @@ public class MilvusService {
                     .build();
 
 
-            R<SearchResults> response = client.search(searchParam);
+            MilvusClient searchClient = client;
+            if (deadline != null) {
+                if (deadline.isExpired()) {
+                    throw new TimeoutException("Deadline exceeded before Milvus search");
+                }
+                searchClient = client.withTimeout(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+            }
+
+            R<SearchResults> response = searchClient.search(searchParam);
 
             if (response.getStatus() != R.Status.Success.getCode()) {
                 throw new RuntimeException("Search failed: " + response.getMessage());
@@ -1,14 +1,93 @@
 package org.uvhnael.ktal.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.uvhnael.ktal.utils.CircuitBreaker;
+import org.uvhnael.ktal.utils.Deadline;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class OpenAIService {
-    
+
+    private static final String METRIC_PREFIX = "chat.llm";
+
     private final ChatClient chatClient;
+    private final ExecutorService chatExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${llm.timeout-ms:15000}")
+    private long timeoutMs;
+
+    // Dưới mức này không gọi LLM, trả lời dự phòng luôn
+    @Value("${llm.min-budget-ms:1000}")
+    private long minBudgetMs;
+
+    @Value("${llm.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    // Dùng khi chưa đủ mẫu để tính p95
+    @Value("${llm.hedge.initial-delay-ms:2000}")
+    private long hedgeInitialDelayMs;
+
+    @Value("${llm.hedge.min-samples:20}")
+    private long hedgeMinSamples;
+
+    @Value("${llm.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${llm.circuit.open-seconds:30}")
+    private long openSeconds;
+
+    private CircuitBreaker circuitBreaker;
+    private Timer latencyTimer;
+    private Counter successCounter;
+    private Counter hedgedCounter;
+    private Counter hedgeWinCounter;
+    private Counter timeoutCounter;
+    private Counter errorCounter;
+    private Counter shortCircuitCounter;
+
+    @PostConstruct
+    public void init() {
+        circuitBreaker = new CircuitBreaker(failureThreshold, Duration.ofSeconds(openSeconds));
+
+        latencyTimer = Timer.builder(METRIC_PREFIX + ".latency")
+                .description("Latency of successful LLM calls")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        successCounter = outcomeCounter("success");
+        hedgedCounter = outcomeCounter("hedge_sent");
+        hedgeWinCounter = outcomeCounter("hedge_won");
+        timeoutCounter = outcomeCounter("timeout");
+        errorCounter = outcomeCounter("error");
+        shortCircuitCounter = outcomeCounter("short_circuit");
+
+        Gauge.builder(METRIC_PREFIX + ".circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("LLM circuit breaker state (0 closed, 1 open, 2 half-open)")
+                .register(meterRegistry);
+    }
 
     public String ask(String prompt) {
         return chatClient.prompt()
@@ -16,4 +95,120 @@ public class OpenAIService {
                 .call()
                 .content();
     }
+
+    /**
+     * Call the LLM with timeout, optional hedging and a circuit breaker.
+     * Never throws for LLM problems: on open circuit, timeout or error the
+     * {@code fallback} answer is returned instead. The call is skipped when less
+     * than llm.min-budget-ms of the deadline is left, and a timeout only counts
+     * against the circuit when the full llm.timeout-ms was available.
+     *
+     * @param prompt   Prompt sent to the model
+     * @param deadline Request deadline; the effective timeout is the smaller of this and llm.timeout-ms
+     * @param fallback Answer used when the LLM cannot respond in time
+     * @return LLM answer or fallback answer
+     */
+    public String ask(String prompt, Deadline deadline, Supplier<String> fallback) {
+        long timeout = Math.min(timeoutMs, deadline.remainingMillis());
+        if (timeout < minBudgetMs) {
+            log.warn("Only {} ms left before the request deadline, using fallback answer", timeout);
+            return fallback.get();
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            shortCircuitCounter.increment();
+            log.debug("LLM circuit is open, using fallback answer");
+            return fallback.get();
+        }
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        List<Future<?>> calls = new CopyOnWriteArrayList<>();
+        AtomicInteger pending = new AtomicInteger(1);
+
+        calls.add(launch(prompt, result, pending, false));
+
+        if (hedgeEnabled) {
+            long hedgeDelay = hedgeDelayMillis();
+            if (hedgeDelay < timeout) {
+                CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.MILLISECONDS, chatExecutor).execute(() -> {
+                    if (!result.isDone()) {
+                        pending.incrementAndGet();
+                        hedgedCounter.increment();
+                        calls.add(launch(prompt, result, pending, true));
+                    }
+                });
+            }
+        }
+
+        try {
+            String answer = result.get(timeout, TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            successCounter.increment();
+            return answer;
+        } catch (TimeoutException e) {
+            timeoutCounter.increment();
+            if (timeout >= timeoutMs) {
+                circuitBreaker.onFailure();
+            } else {
+                // Hết thời gian do deadline của request, không phải do LLM chậm
+                circuitBreaker.release();
+            }
+            log.warn("LLM did not answer within {} ms, using fallback answer", timeout);
+        } catch (ExecutionException e) {
+            errorCounter.increment();
+            circuitBreaker.onFailure();
+            log.error("LLM call failed, using fallback answer: {}", e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            circuitBreaker.release();
+            Thread.currentThread().interrupt();
+        } finally {
+            // Huỷ request còn lại (request chậm hoặc bản hedge bị thua)
+            result.complete(null);
+            calls.forEach(call -> call.cancel(true));
+        }
+        return fallback.get();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private Future<?> launch(String prompt, CompletableFuture<String> result, AtomicInteger pending, boolean hedge) {
+        return chatExecutor.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                String answer = ask(prompt);
+                latencyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (result.complete(answer) && hedge) {
+                    hedgeWinCounter.increment();
+                }
+            } catch (Throwable t) {
+                if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(t);
+                }
+            }
+        });
+    }
+
+    /**
+     * Delay before sending the hedged request: observed p95 latency,
+     * or the configured initial delay while there are too few samples.
+     */
+    private long hedgeDelayMillis() {
+        if (latencyTimer.count() < hedgeMinSamples) {
+            return hedgeInitialDelayMs;
+        }
+        for (ValueAtPercentile percentile : latencyTimer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.95) {
+                return Math.max(1, (long) percentile.value(TimeUnit.MILLISECONDS));
+            }
+        }
+        return hedgeInitialDelayMs;
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".calls")
+                .description("LLM call outcomes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
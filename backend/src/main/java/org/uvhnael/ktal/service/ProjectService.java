@@ -1,12 +1,23 @@
 package org.uvhnael.ktal.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.uvhnael.ktal.constants.AppConstants;
+import org.uvhnael.ktal.dto.response.CursorPageResponse;
+import org.uvhnael.ktal.dto.response.PageResponse;
+import org.uvhnael.ktal.event.EntityChangeBus;
+import org.uvhnael.ktal.exception.ResourceNotFoundException;
+import org.uvhnael.ktal.event.EntityChangedEvent.ChangeType;
+import org.uvhnael.ktal.event.EntityChangedEvent.EntityType;
+import org.uvhnael.ktal.event.EntityDimensions;
+import org.uvhnael.ktal.dto.response.ProjectListItem;
 import org.uvhnael.ktal.model.Project;
 import org.uvhnael.ktal.repository.ProjectRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -14,32 +25,87 @@ import java.util.Optional;
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final EntityChangeBus entityChangeBus;
+    private final SlugIndex slugIndex;
 
     public List<Project> findAll() {
         return projectRepository.findAll();
 
     }
 
+    @Cacheable(cacheNames = AppConstants.Cache.PROJECT_LIST_CACHE, key = "{'page', #year, #area, #status, #search, #page, #size}")
+    public PageResponse<ProjectListItem> findPage(Integer year, String area, String status, String search, int page, int size) {
+        return projectRepository.findPage(year, area, status, search, page, size);
+    }
+
+    @Cacheable(cacheNames = AppConstants.Cache.PROJECT_LIST_CACHE, key = "{'after', #year, #area, #status, #search, #cursor, #size}")
+    public CursorPageResponse<ProjectListItem> findAfter(Integer year, String area, String status, String search, String cursor, int size) {
+        return projectRepository.findAfter(year, area, status, search, cursor, size);
+    }
+
+    @Cacheable(cacheNames = AppConstants.Cache.PROJECT_LIST_CACHE, key = "{'recent', #limit}")
+    public List<ProjectListItem> findRecent(int limit) {
+        return projectRepository.findRecentListItems(limit);
+    }
+
+    @Cacheable(AppConstants.Cache.PROJECT_CACHE)
     public Optional<Project> findById(Long id) {
         return projectRepository.findById(id);
     }
 
-    public int create(Project project) {
-        project.setCreatedAt(LocalDateTime.now().toString());
-        project.setUpdatedAt(LocalDateTime.now().toString());
-        return projectRepository.save(project);
+    public Project create(Project project) {
+        project.setCreatedAt(LocalDateTime.now());
+        project.setUpdatedAt(LocalDateTime.now());
+        Project saved = projectRepository.save(project);
+        entityChangeBus.publish(EntityType.PROJECT, ChangeType.CREATED, saved.getId(),
+                Map.of(), EntityDimensions.of(saved), saved.getSlug());
+        return saved;
+    }
+
+    public List<Project> createAll(List<Project> projects) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Project project : projects) {
+            project.setCreatedAt(now);
+            project.setUpdatedAt(now);
+        }
+        List<Project> saved = projectRepository.saveAll(projects);
+        saved.forEach(p -> entityChangeBus.publish(EntityType.PROJECT, ChangeType.CREATED, p.getId(),
+                Map.of(), EntityDimensions.of(p), p.getSlug()));
+        return saved;
     }
 
     public int update(Project project) {
-        project.setUpdatedAt(LocalDateTime.now().toString());
-        return projectRepository.update(project);
+        Project existing = projectRepository.findById(project.getId()).orElse(null);
+        project.setUpdatedAt(LocalDateTime.now());
+        int result = projectRepository.update(project);
+        if (result > 0) {
+            entityChangeBus.publish(EntityType.PROJECT, ChangeType.UPDATED, project.getId(),
+                    existing != null ? EntityDimensions.of(existing) : Map.of(), EntityDimensions.of(project),
+                    project.getSlug(), existing != null ? existing.getSlug() : null);
+        }
+        return result;
     }
 
     public int delete(Long id) {
-        return projectRepository.deleteById(id);
+        Project existing = projectRepository.findById(id).orElse(null);
+        int result = projectRepository.deleteById(id);
+        if (result > 0) {
+            entityChangeBus.publish(EntityType.PROJECT, ChangeType.DELETED, id,
+                    existing != null ? EntityDimensions.of(existing) : Map.of(), Map.of(),
+                    existing != null ? existing.getSlug() : null);
+        }
+        return result;
     }
 
+    @Cacheable(AppConstants.Cache.PROJECT_SLUG_CACHE)
     public Project findBySlug(String slug) {
-        return projectRepository.findBySlug(slug);
+        Long id = slugIndex.projectId(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", slug, "Project with slug '" + slug + "' not found"));
+        return projectRepository.findById(id)
+                .filter(project -> slug.equals(project.getSlug()))
+                .orElseThrow(() -> {
+                    slugIndex.removeProject(slug, id);
+                    return new ResourceNotFoundException("Project", slug, "Project with slug '" + slug + "' not found");
+                });
     }
 }
@@ -0,0 +1,158 @@
+package org.uvhnael.ktal.service;
+
+import ai.djl.huggingface.translator.CrossEncoderTranslatorFactory;
+import ai.djl.inference.Predictor;
+import ai.djl.modality.nlp.preprocess.StringPair;
+import ai.djl.repository.zoo.Criteria;
+import ai.djl.repository.zoo.ZooModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.uvhnael.ktal.service.MilvusService.SimilarityResult;
+import org.uvhnael.ktal.utils.Deadline;
+import org.uvhnael.ktal.utils.TopK;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reorders Milvus candidates with a local cross-encoder that scores
+ * (query, passage) pairs jointly. All candidates of a query are scored in one batch.
+ */
+@Service
+public class RerankService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RerankService.class);
+
+    @Value("${chat.rerank.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chat.rerank.model-url:djl://ai.djl.huggingface.pytorch/cross-encoder/ms-marco-MiniLM-L-6-v2}")
+    private String modelUrl;
+
+    @Value("${chat.rerank.candidates:20}")
+    private int candidates;
+
+    @Value("${chat.rerank.pool-size:2}")
+    private int poolSize;
+
+    private ZooModel<StringPair, float[]> model;
+    // Predictor không thread-safe -> mỗi request mượn một predictor từ pool
+    private BlockingQueue<Predictor<StringPair, float[]>> predictors;
+    private volatile boolean modelLoaded = false;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            logger.info("Rerank stage disabled");
+            return;
+        }
+
+        logger.info("Loading cross-encoder rerank model: {}", modelUrl);
+
+        try {
+            Criteria<StringPair, float[]> criteria = Criteria.builder()
+                    .setTypes(StringPair.class, float[].class)
+                    .optModelUrls(modelUrl)
+                    .optEngine("PyTorch")
+                    .optTranslatorFactory(new CrossEncoderTranslatorFactory())
+                    .build();
+
+            this.model = criteria.loadModel();
+            this.predictors = new ArrayBlockingQueue<>(poolSize);
+            for (int i = 0; i < poolSize; i++) {
+                predictors.add(model.newPredictor());
+            }
+            this.modelLoaded = true;
+
+            logger.info("Cross-encoder loaded with {} pooled predictors", poolSize);
+
+        } catch (Exception e) {
+            // Rerank là tuỳ chọn: lỗi load model không được làm hỏng chat
+            logger.error("Failed to load cross-encoder, rerank stage disabled: {}", e.getMessage(), e);
+            this.modelLoaded = false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled && modelLoaded;
+    }
+
+    /**
+     * Number of candidates to fetch from Milvus for a final list of {@code topN}.
+     */
+    public int candidateCount(int topN) {
+        return isEnabled() ? Math.max(candidates, topN) : topN;
+    }
+
+    /**
+     * Score every hit against the query and keep the best {@code topN}.
+     * Falls back to the original Milvus order when scoring fails or no predictor
+     * frees up before the deadline.
+     *
+     * @return at most topN hits, best first; score is the cross-encoder score
+     */
+    public List<SimilarityResult> rerank(String query, List<SimilarityResult> hits, int topN, Deadline deadline) {
+        if (!isEnabled() || hits.size() <= 1) {
+            return hits.subList(0, Math.min(topN, hits.size()));
+        }
+
+        List<StringPair> pairs = new ArrayList<>(hits.size());
+        for (SimilarityResult hit : hits) {
+            pairs.add(new StringPair(query, hit.getText()));
+        }
+
+        Predictor<StringPair, float[]> predictor = null;
+        try {
+            predictor = predictors.poll(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+            if (predictor == null) {
+                logger.warn("No rerank predictor free before the deadline, keeping vector order");
+                return hits.subList(0, Math.min(topN, hits.size()));
+            }
+            List<float[]> scores = predictor.batchPredict(pairs);
+
+            List<SimilarityResult> reranked = new ArrayList<>(hits.size());
+            for (int i = 0; i < hits.size(); i++) {
+                SimilarityResult hit = hits.get(i);
+                reranked.add(new SimilarityResult(hit.getId(), hit.getText(), scores.get(i)[0]));
+            }
+            return TopK.of(reranked, topN, Comparator.comparingDouble(SimilarityResult::getScore).reversed());
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Rerank failed, keeping vector order: {}", e.getMessage());
+        } finally {
+            if (predictor != null) {
+                predictors.offer(predictor);
+            }
+        }
+        return hits.subList(0, Math.min(topN, hits.size()));
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        modelLoaded = false;
+
+        if (predictors != null) {
+            predictors.forEach(Predictor::close);
+            predictors.clear();
+        }
+
+        if (model != null) {
+            try {
+                model.close();
+                logger.info("Rerank model closed");
+            } catch (Exception e) {
+                logger.warn("Error closing rerank model: {}", e.getMessage());
+            }
+        }
+    }
+}
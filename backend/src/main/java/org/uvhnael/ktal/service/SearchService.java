@@ -0,0 +1,410 @@
+package org.uvhnael.ktal.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.uvhnael.ktal.dto.response.BlogListItem;
+import org.uvhnael.ktal.dto.response.ProjectListItem;
+import org.uvhnael.ktal.event.EntityChangedEvent;
+import org.uvhnael.ktal.event.EntityChangedEvent.ChangeType;
+import org.uvhnael.ktal.event.EntityChangedEvent.EntityType;
+import org.uvhnael.ktal.model.Blog;
+import org.uvhnael.ktal.model.Contact;
+import org.uvhnael.ktal.model.Project;
+import org.uvhnael.ktal.model.Service;
+import org.uvhnael.ktal.repository.BlogRepository;
+import org.uvhnael.ktal.repository.ContactRepository;
+import org.uvhnael.ktal.repository.ProjectRepository;
+import org.uvhnael.ktal.repository.ServiceRepository;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Global search over blogs, projects, services and contacts, backed by an
+ * in-memory Lucene index instead of scanning every row per query.
+ * <p>
+ * Text is lowercased and diacritics are folded ("Đà Nẵng" matches "da nang"),
+ * the last query word matches as a prefix, and each entity type returns its own
+ * top-N ranked by relevance with title matches boosted. The index is rebuilt
+ * from MySQL at startup and kept current from {@link EntityChangedEvent}s;
+ * until the first rebuild finishes searches fall back to SQL LIKE.
+ * <p>
+ * Change events are only queued on the writer's thread. A background indexer
+ * drains them in batches, reads the changed rows with one IN query per entity
+ * type and lets a {@link ControlledRealTimeReopenThread} reopen the searcher,
+ * so a bulk import costs a few queries and reopens instead of one per row.
+ * Changes become searchable within {@code MAX_STALE_SECONDS}.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchService {
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String BODY = "body";
+
+    private static final float TITLE_BOOST = 2.0f;
+    private static final int MAX_QUERY_TERMS = 10;
+
+    private static final int MAX_BATCH = 1000;
+    private static final double MAX_STALE_SECONDS = 1.0;
+    private static final double MIN_STALE_SECONDS = 0.025;
+
+    private final BlogRepository blogRepository;
+    private final ProjectRepository projectRepository;
+    private final ServiceRepository serviceRepository;
+    private final ContactRepository contactRepository;
+
+    private final Analyzer analyzer = new FoldingAnalyzer();
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private Thread indexer;
+
+    private final BlockingQueue<EntityChangedEvent> pending = new LinkedBlockingQueue<>();
+    private final Object progress = new Object();
+    // Số sự kiện đã nhận / đã ghi vào chỉ mục, và generation của lần ghi cuối
+    private long enqueued;
+    private long applied;
+    private long lastGeneration;
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void open() throws IOException {
+        writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(writer, null);
+        reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, MAX_STALE_SECONDS, MIN_STALE_SECONDS);
+        reopenThread.setName("search-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+        indexer = Thread.ofVirtual().name("search-indexer").start(this::indexLoop);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        indexer.interrupt();
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+    }
+
+    public List<BlogListItem> searchBlogs(String query, int limit) {
+        if (!ready) {
+            return blogRepository.searchListItems(query, limit);
+        }
+        return blogRepository.findListItemsByIds(searchIds(EntityType.BLOG, query, limit));
+    }
+
+    public List<ProjectListItem> searchProjects(String query, int limit) {
+        if (!ready) {
+            return projectRepository.searchListItems(query, limit);
+        }
+        return projectRepository.findListItemsByIds(searchIds(EntityType.PROJECT, query, limit));
+    }
+
+    public List<Service> searchServices(String query, int limit) {
+        if (!ready) {
+            return serviceRepository.search(query, limit);
+        }
+        return serviceRepository.findAllById(searchIds(EntityType.SERVICE, query, limit));
+    }
+
+    public List<Contact> searchContacts(String query, int limit) {
+        if (!ready) {
+            return contactRepository.search(query, limit);
+        }
+        return contactRepository.findAllById(searchIds(EntityType.CONTACT, query, limit));
+    }
+
+    /**
+     * Ids of the best {@code limit} matches of one entity type, most relevant first
+     */
+    public List<Long> searchIds(EntityType entityType, String query, int limit) {
+        try {
+            Query luceneQuery = buildQuery(entityType, query);
+            if (luceneQuery == null) {
+                return List.of();
+            }
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                List<Long> ids = new ArrayList<>();
+                for (ScoreDoc hit : searcher.search(luceneQuery, limit).scoreDocs) {
+                    ids.add(searcher.storedFields().document(hit.doc).getField(ID).numericValue().longValue());
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Search index is unavailable", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            writer.deleteAll();
+            blogRepository.forEach(blog -> index(EntityType.BLOG, blog.getId(), document(blog)));
+            projectRepository.forEach(project -> index(EntityType.PROJECT, project.getId(), document(project)));
+            serviceRepository.forEach(service -> index(EntityType.SERVICE, service.getId(), document(service)));
+            contactRepository.forEach(contact -> index(EntityType.CONTACT, contact.getId(), document(contact)));
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+            log.info("Search index rebuilt with {} documents", writer.getDocStats().numDocs);
+        } catch (Exception e) {
+            log.error("Error rebuilding search index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Only queues the change; the writer's request does not wait for indexing.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        synchronized (progress) {
+            enqueued++;
+        }
+        pending.add(event);
+    }
+
+    /**
+     * Blocks until every change queued before the call is searchable, for callers
+     * that need read-your-write.
+     *
+     * @return false if that did not happen within {@code timeout}
+     */
+    public boolean awaitIndexed(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long generation;
+        synchronized (progress) {
+            long target = enqueued;
+            while (applied < target) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                progress.wait(remaining);
+            }
+            generation = lastGeneration;
+        }
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        return remaining > 0 && reopenThread.waitForGeneration(generation, (int) Math.min(remaining, Integer.MAX_VALUE));
+    }
+
+    private void indexLoop() {
+        List<EntityChangedEvent> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            long generation = -1;
+            try {
+                batch.add(pending.take());
+                pending.drainTo(batch, MAX_BATCH - 1);
+                generation = apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Error updating search index for {} change(s): {}", batch.size(), e.getMessage(), e);
+            } finally {
+                synchronized (progress) {
+                    applied += batch.size();
+                    lastGeneration = Math.max(lastGeneration, generation);
+                    progress.notifyAll();
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Applies a batch of changes, the last one per entity winning
+     *
+     * @return index generation after the batch
+     */
+    private long apply(List<EntityChangedEvent> batch) throws IOException {
+        Map<String, EntityChangedEvent> latest = new LinkedHashMap<>();
+        batch.forEach(event -> latest.put(key(event.entityType(), event.id()), event));
+
+        long generation = -1;
+        Map<EntityType, List<Long>> changedIds = new EnumMap<>(EntityType.class);
+        for (EntityChangedEvent event : latest.values()) {
+            if (event.changeType() == ChangeType.DELETED) {
+                generation = writer.deleteDocuments(new Term(KEY, key(event.entityType(), event.id())));
+            } else {
+                changedIds.computeIfAbsent(event.entityType(), t -> new ArrayList<>()).add(event.id());
+            }
+        }
+
+        // Đọc lại từ DB: sự kiện từ instance khác chỉ mang id
+        for (Map.Entry<EntityType, List<Long>> entry : changedIds.entrySet()) {
+            EntityType entityType = entry.getKey();
+            List<Long> ids = entry.getValue();
+            Set<Long> missing = new HashSet<>(ids);
+            for (Map.Entry<Long, Document> document : documents(entityType, ids).entrySet()) {
+                missing.remove(document.getKey());
+                generation = index(entityType, document.getKey(), document.getValue());
+            }
+            // Hàng đã bị xoá trước khi kịp đọc
+            for (Long id : missing) {
+                generation = writer.deleteDocuments(new Term(KEY, key(entityType, id)));
+            }
+        }
+        return generation;
+    }
+
+    private Map<Long, Document> documents(EntityType entityType, List<Long> ids) {
+        Map<Long, Document> documents = new LinkedHashMap<>();
+        switch (entityType) {
+            case BLOG -> blogRepository.findByIds(ids).forEach(b -> documents.put(b.getId(), document(b)));
+            case PROJECT -> projectRepository.findAllById(ids).forEach(p -> documents.put(p.getId(), document(p)));
+            case SERVICE -> serviceRepository.findAllById(ids).forEach(s -> documents.put(s.getId(), document(s)));
+            case CONTACT -> contactRepository.findAllById(ids).forEach(c -> documents.put(c.getId(), document(c)));
+        }
+        return documents;
+    }
+
+    private long index(EntityType entityType, Long id, Document document) {
+        String key = key(entityType, id);
+        document.add(new StringField(KEY, key, Field.Store.NO));
+        document.add(new StringField(TYPE, entityType.name(), Field.Store.NO));
+        document.add(new StoredField(ID, id));
+        try {
+            return writer.updateDocument(new Term(KEY, key), document);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to index " + key, e);
+        }
+    }
+
+    private Document document(Blog blog) {
+        return document(blog.getTitle(), blog.getCategory(), blog.getSummary(), blog.getPlainText());
+    }
+
+    private Document document(Project project) {
+        return document(project.getTitle(), project.getDescription(), project.getArea());
+    }
+
+    private Document document(Service service) {
+        return document(service.getTitle(), service.getDescription(), service.getFeatures());
+    }
+
+    private Document document(Contact contact) {
+        return document(contact.getName(), contact.getEmail(), contact.getPhone(), contact.getMessage());
+    }
+
+    private static Document document(String title, String... body) {
+        Document document = new Document();
+        document.add(new TextField(TITLE, Objects.toString(title, ""), Field.Store.NO));
+        document.add(new TextField(BODY, Stream.of(body).filter(Objects::nonNull).collect(Collectors.joining("\n")),
+                Field.Store.NO));
+        return document;
+    }
+
+    /**
+     * Every query word must match the title or the body; the last one may be
+     * incomplete, so it matches as a prefix.
+     */
+    private Query buildQuery(EntityType entityType, String text) throws IOException {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(TYPE, entityType.name())), Occur.FILTER);
+        for (int i = 0; i < terms.size(); i++) {
+            boolean prefix = i == terms.size() - 1;
+            query.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(termQuery(TITLE, terms.get(i), prefix), TITLE_BOOST), Occur.SHOULD)
+                    .add(termQuery(BODY, terms.get(i), prefix), Occur.SHOULD)
+                    .build(), Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private static Query termQuery(String field, String term, boolean prefix) {
+        return prefix ? new PrefixQuery(new Term(field, term)) : new TermQuery(new Term(field, term));
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(BODY, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        }
+        return terms;
+    }
+
+    private static String key(EntityType entityType, Long id) {
+        return entityType.name().toLowerCase(Locale.ROOT) + ":" + id;
+    }
+
+    /**
+     * Standard word splitting, lowercased, with accents folded to ASCII so
+     * Vietnamese text matches with or without diacritics.
+     */
+    private static final class FoldingAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = new StandardTokenizer();
+            return new TokenStreamComponents(source, new ASCIIFoldingFilter(new LowerCaseFilter(source)));
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
@@ -4,11 +4,19 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.uvhnael.ktal.constants.AppConstants;
+import org.uvhnael.ktal.dto.response.PageResponse;
+import org.uvhnael.ktal.event.EntityChangeBus;
+import org.uvhnael.ktal.event.EntityChangedEvent.ChangeType;
+import org.uvhnael.ktal.event.EntityChangedEvent.EntityType;
+import org.uvhnael.ktal.event.EntityDimensions;
 import org.uvhnael.ktal.model.Service;
 import org.uvhnael.ktal.repository.ServiceRepository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @org.springframework.stereotype.Service
@@ -16,25 +24,57 @@ import java.util.Optional;
 public class ServiceService {
 
     private final ServiceRepository serviceRepository;
+    private final EntityChangeBus entityChangeBus;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @Cacheable(cacheNames = AppConstants.Cache.SERVICE_LIST_CACHE, key = "{'all'}")
     public List<Service> findAll() {
         return serviceRepository.findAll();
     }
 
+    @Cacheable(cacheNames = AppConstants.Cache.SERVICE_LIST_CACHE, key = "{'page', #search, #priceRange, #page, #size}")
+    public PageResponse<Service> findPage(String search, String priceRange, int page, int size) {
+        return serviceRepository.findPage(search, priceRange, page, size);
+    }
+
+    @Cacheable(AppConstants.Cache.SERVICE_CACHE)
     public Optional<Service> findById(Long id) {
         return serviceRepository.findById(id);
     }
 
-    public int create(Service service) {
-        return serviceRepository.save(service);
+    public Service create(Service service) {
+        Service saved = serviceRepository.save(service);
+        entityChangeBus.publish(EntityType.SERVICE, ChangeType.CREATED, saved.getId(), Map.of(), EntityDimensions.of(saved));
+        return saved;
+    }
+
+    public List<Service> createAll(List<Service> services) {
+        List<Service> saved = serviceRepository.saveAll(services);
+        saved.forEach(s -> entityChangeBus.publish(EntityType.SERVICE, ChangeType.CREATED, s.getId(),
+                Map.of(), EntityDimensions.of(s)));
+        return saved;
     }
 
     public int update(Service service) {
-        return serviceRepository.update(service);
+        Map<String, String> before = dimensions(service.getId());
+        int result = serviceRepository.update(service);
+        if (result > 0) {
+            entityChangeBus.publish(EntityType.SERVICE, ChangeType.UPDATED, service.getId(),
+                    before, EntityDimensions.of(service));
+        }
+        return result;
     }
 
     public int delete(Long id) {
-        return serviceRepository.deleteById(id);
+        Map<String, String> before = dimensions(id);
+        int result = serviceRepository.deleteById(id);
+        if (result > 0) {
+            entityChangeBus.publish(EntityType.SERVICE, ChangeType.DELETED, id, before, Map.of());
+        }
+        return result;
+    }
+
+    private Map<String, String> dimensions(Long id) {
+        return serviceRepository.findById(id).map(EntityDimensions::of).orElse(Map.of());
     }
 }
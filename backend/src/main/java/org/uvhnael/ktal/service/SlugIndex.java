@@ -0,0 +1,96 @@
+package org.uvhnael.ktal.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.uvhnael.ktal.event.EntityChangedEvent;
+import org.uvhnael.ktal.repository.BlogRepository;
+import org.uvhnael.ktal.repository.ProjectRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory slug -> id maps for blogs and projects, so resolving a slug URL
+ * needs no database round-trip and a miss is answered without touching MySQL.
+ * <p>
+ * Warmed at startup, kept current from {@link EntityChangedEvent}s (local and
+ * remote) and refreshed periodically to pick up any missed event. Entries that
+ * turn out stale on lookup are dropped by the caller via {@link #removeBlog}/{@link #removeProject}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlugIndex {
+
+    private final BlogRepository blogRepository;
+    private final ProjectRepository projectRepository;
+
+    private final Map<String, Long> blogIds = new ConcurrentHashMap<>();
+    private final Map<String, Long> projectIds = new ConcurrentHashMap<>();
+
+    public Optional<Long> blogId(String slug) {
+        return Optional.ofNullable(blogIds.get(slug));
+    }
+
+    public Optional<Long> projectId(String slug) {
+        return Optional.ofNullable(projectIds.get(slug));
+    }
+
+    public void removeBlog(String slug, Long id) {
+        blogIds.remove(slug, id);
+    }
+
+    public void removeProject(String slug, Long id) {
+        projectIds.remove(slug, id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+        log.info("Slug index warmed: {} blogs, {} projects", blogIds.size(), projectIds.size());
+    }
+
+    @Scheduled(initialDelayString = "${slug-index.refresh-interval-ms:600000}",
+            fixedDelayString = "${slug-index.refresh-interval-ms:600000}")
+    public void refresh() {
+        try {
+            // Chỉ thêm, không xoá: xoá theo snapshot có thể làm mất slug vừa tạo trong lúc đọc
+            blogIds.putAll(blogRepository.findSlugIds());
+            projectIds.putAll(projectRepository.findSlugIds());
+        } catch (Exception e) {
+            log.error("Error refreshing slug index: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        switch (event.entityType()) {
+            case BLOG -> apply(blogIds, event);
+            case PROJECT -> apply(projectIds, event);
+            default -> {
+                // service/contact không có slug
+            }
+        }
+    }
+
+    /**
+     * On create/update the first slug is the current one and any others are stale;
+     * on delete all of them are stale.
+     */
+    private static void apply(Map<String, Long> index, EntityChangedEvent event) {
+        List<String> slugs = event.slugs();
+        boolean deleted = event.changeType() == EntityChangedEvent.ChangeType.DELETED;
+        for (int i = deleted ? 0 : 1; i < slugs.size(); i++) {
+            index.remove(slugs.get(i), event.id());
+        }
+        if (!deleted && !slugs.isEmpty()) {
+            index.put(slugs.get(0), event.id());
+        }
+    }
+}
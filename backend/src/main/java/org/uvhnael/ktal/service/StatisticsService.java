@@ -0,0 +1,102 @@
+package org.uvhnael.ktal.service;
+
+import lombok.RequiredArgsConstructor;
+import org.uvhnael.ktal.model.Service;
+import org.uvhnael.ktal.repository.AggregationRepository;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard and per-entity statistics. Content distributions are served from
+ * {@link DashboardCounters} once they are seeded; everything else, and the
+ * fallback before that, is aggregated in SQL so response time and memory do
+ * not depend on table size.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+public class StatisticsService {
+
+    private static final String UNKNOWN_SERVICE = "Unknown Service";
+
+    private final AggregationRepository aggregationRepository;
+    private final DashboardCounters dashboardCounters;
+    private final ServiceService serviceService;
+
+    public Map<String, Object> contentStatistics() {
+        Map<String, Map<String, Long>> distributions;
+        if (dashboardCounters.isReady()) {
+            distributions = Map.of(
+                    "category", dashboardCounters.distribution("blog.category"),
+                    "area", dashboardCounters.distribution("project.area"),
+                    "year", dashboardCounters.distribution("project.year"));
+        } else {
+            distributions = aggregationRepository.contentDistributions();
+        }
+
+        Map<Integer, Long> projectsByYear = new LinkedHashMap<>();
+        distributions.getOrDefault("year", Map.of())
+                .forEach((year, count) -> projectsByYear.put(Integer.valueOf(year), count));
+
+        Map<String, Object> contentStats = new HashMap<>();
+        contentStats.put("blogsByCategory", distributions.getOrDefault("category", Map.of()));
+        contentStats.put("projectsByArea", distributions.getOrDefault("area", Map.of()));
+        contentStats.put("projectsByYear", projectsByYear);
+        return contentStats;
+    }
+
+    public Map<String, Object> contactAnalysis() {
+        Map<String, Map<String, Long>> distributions;
+        if (dashboardCounters.isReady()) {
+            distributions = Map.of(
+                    "status", dashboardCounters.distribution("contact.status"),
+                    "service", countsByServiceTitle(dashboardCounters.distribution("contact.service"),
+                            serviceService.findAll(), UNKNOWN_SERVICE),
+                    "handler", dashboardCounters.distribution("contact.handler"));
+        } else {
+            distributions = aggregationRepository.contactDistributions(UNKNOWN_SERVICE);
+        }
+
+        Map<String, Object> analysis = new HashMap<>();
+        analysis.put("contactsByStatus", distributions.getOrDefault("status", Map.of()));
+        analysis.put("contactsByService", distributions.getOrDefault("service", Map.of()));
+        analysis.put("contactsByHandler", distributions.getOrDefault("handler", Map.of()));
+        return analysis;
+    }
+
+    /**
+     * Hash join of per-service-id counts with the service list: one pass to index
+     * services by id, one lookup per id. Ids without a service are summed under
+     * {@code unknown}, as are services sharing a title.
+     */
+    static Map<String, Long> countsByServiceTitle(Map<String, Long> countsByServiceId, List<Service> services,
+                                                  String unknown) {
+        Map<String, String> titles = new HashMap<>(services.size() * 2);
+        for (Service service : services) {
+            titles.put(String.valueOf(service.getId()), service.getTitle());
+        }
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        countsByServiceId.forEach((serviceId, count) ->
+                counts.merge(titles.getOrDefault(serviceId, unknown), count, Long::sum));
+        return counts;
+    }
+
+    public Map<String, Long> blogStatistics() {
+        return aggregationRepository.blogStatistics();
+    }
+
+    public Map<String, Long> projectStatistics() {
+        return aggregationRepository.projectStatistics();
+    }
+
+    public Map<String, Long> contactStatistics() {
+        return aggregationRepository.contactStatistics();
+    }
+
+    public Map<String, Long> serviceStatistics() {
+        return aggregationRepository.serviceStatistics();
+    }
+}
@@ -22,7 +22,7 @@ public class UserService {
         return userRepository.findById(id);
     }
 
-    public int create(User user) {
+    public User create(User user) {
         return userRepository.save(user);
     }
 
@@ -0,0 +1,48 @@
+package org.uvhnael.ktal.utils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Absolute point in time by which a request must complete.
+ * Created once per request and handed down to every downstream call
+ * (Milvus, MySQL, OpenAI) so they share the same time budget.
+ */
+public final class Deadline {
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static Deadline afterSeconds(long seconds) {
+        return after(Duration.ofSeconds(seconds));
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, Duration.ofNanos(deadlineNanos - System.nanoTime()).toMillis());
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Throw if the deadline has already passed, so a stage is not started needlessly.
+     */
+    public void check(String stage) throws TimeoutException {
+        if (isExpired()) {
+            throw new TimeoutException("Deadline exceeded before stage: " + stage);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{remainingMs=" + remainingMillis() + "}";
+    }
+}
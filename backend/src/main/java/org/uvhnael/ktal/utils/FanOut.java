@@ -0,0 +1,99 @@
+package org.uvhnael.ktal.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent named sections in parallel on a bounded executor and joins
+ * them against one shared {@link Deadline}. A section that fails, is rejected
+ * by a full executor or is still running at the deadline does not fail the
+ * others: its error is reported in {@link Result#errors()} and unfinished work
+ * is cancelled, so nothing outlives the request.
+ */
+@Slf4j
+public final class FanOut {
+
+    public static final String ERROR_TIMEOUT = "timeout";
+    public static final String ERROR_FAILED = "failed";
+    public static final String ERROR_REJECTED = "rejected";
+
+    private final ExecutorService executor;
+    private final Deadline deadline;
+    private final Map<String, Future<?>> sections = new LinkedHashMap<>();
+    private final Map<String, String> errors = new LinkedHashMap<>();
+
+    private FanOut(ExecutorService executor, Deadline deadline) {
+        this.executor = executor;
+        this.deadline = deadline;
+    }
+
+    public static FanOut on(ExecutorService executor, Deadline deadline) {
+        return new FanOut(executor, deadline);
+    }
+
+    public FanOut fork(String name, Supplier<?> task) {
+        try {
+            sections.put(name, executor.submit(task::get));
+        } catch (RejectedExecutionException e) {
+            errors.put(name, ERROR_REJECTED);
+        }
+        return this;
+    }
+
+    /**
+     * Waits for every section until the deadline. Never throws for a single
+     * section; an interrupt cancels whatever is still running.
+     */
+    public Result join() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<?>> section : sections.entrySet()) {
+            Future<?> future = section.getValue();
+            try {
+                values.put(section.getKey(), future.get(deadline.remainingMillis(), TimeUnit.MILLISECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                errors.put(section.getKey(), ERROR_TIMEOUT);
+            } catch (ExecutionException e) {
+                log.warn("Section '{}' failed: {}", section.getKey(), e.getCause().getMessage(), e.getCause());
+                errors.put(section.getKey(), ERROR_FAILED);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                sections.values().forEach(f -> f.cancel(true));
+                errors.put(section.getKey(), ERROR_TIMEOUT);
+                break;
+            }
+        }
+        sections.keySet().forEach(name -> {
+            if (!values.containsKey(name)) {
+                errors.putIfAbsent(name, ERROR_TIMEOUT);
+            }
+        });
+        return new Result(values, errors);
+    }
+
+    /**
+     * @param values section name -> result, for sections that completed in time
+     * @param errors section name -> {@link #ERROR_TIMEOUT}, {@link #ERROR_FAILED} or {@link #ERROR_REJECTED}
+     */
+    public record Result(Map<String, Object> values, Map<String, String> errors) {
+
+        @SuppressWarnings("unchecked")
+        public <T> T get(String name, T fallback) {
+            Object value = values.get(name);
+            return value != null ? (T) value : fallback;
+        }
+
+        public boolean isPartial() {
+            return !errors.isEmpty();
+        }
+    }
+}
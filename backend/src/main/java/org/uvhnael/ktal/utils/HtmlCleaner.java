@@ -3,6 +3,11 @@ package org.uvhnael.ktal.utils;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
 public class HtmlCleaner {
     /**
      * Clean HTML content by removing tags, scripts, and styles.
@@ -24,4 +29,36 @@ public class HtmlCleaner {
         // Lấy text đã clean
         return doc.text().trim();
     }
+
+    /**
+     * Cut plain text to a short excerpt, appending "..." when truncated.
+     *
+     * @param plainText Text already cleaned by {@link #cleanHtml(String)}.
+     * @param maxLength Maximum number of characters kept.
+     * @return Excerpt text.
+     */
+    public static String excerpt(String plainText, int maxLength) {
+        if (plainText == null || plainText.isEmpty()) {
+            return "";
+        }
+        return plainText.length() > maxLength
+                ? plainText.substring(0, maxLength) + "..."
+                : plainText;
+    }
+
+    /**
+     * SHA-256 hex digest of the given content, used to detect unchanged content.
+     *
+     * @param content Raw content.
+     * @return Hex encoded hash.
+     */
+    public static String contentHash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((content == null ? "" : content).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package org.uvhnael.ktal.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads a JSON array element by element and hands the elements over in
+ * fixed-size batches, so a large import never holds the whole array in memory.
+ * <p>
+ * Each batch is committed by {@code onBatch} on its own, so a failure part-way
+ * leaves the earlier batches saved; {@link PartialImportException} reports how
+ * many. Elements are validated as they are read, so an invalid element stops
+ * the import before its batch is written.
+ */
+public final class JsonArrayStreamer {
+
+    private JsonArrayStreamer() {
+    }
+
+    /**
+     * @param batchSize maximum number of elements per batch
+     * @param validator called with each element as it is read; throws
+     *                  {@link IllegalArgumentException} to reject it
+     * @param onBatch   called with each batch, in input order
+     * @return total number of elements imported
+     * @throws PartialImportException when reading, validation or a batch fails
+     */
+    public static <T> int stream(ObjectMapper objectMapper, InputStream in, Class<T> type, int batchSize,
+                                 Consumer<T> validator, Consumer<List<T>> onBatch) {
+        int imported = 0;
+        int index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Request body must be a JSON array");
+            }
+
+            List<T> batch = new ArrayList<>(batchSize);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                T element = objectMapper.readValue(parser, type);
+                try {
+                    validator.accept(element);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Element " + index + ": " + e.getMessage(), e);
+                }
+                batch.add(element);
+                index++;
+                if (batch.size() == batchSize) {
+                    onBatch.accept(batch);
+                    imported += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IllegalArgumentException("JSON array must contain only objects");
+            }
+            if (!batch.isEmpty()) {
+                onBatch.accept(batch);
+                imported += batch.size();
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new PartialImportException(imported, e);
+        }
+        return imported;
+    }
+
+    /**
+     * @throws IllegalArgumentException when {@code value} is null or blank
+     */
+    public static void requireText(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+    }
+
+    /**
+     * Import stopped part-way; {@link #getImported()} elements were already saved.
+     */
+    public static class PartialImportException extends RuntimeException {
+
+        private final int imported;
+
+        public PartialImportException(int imported, Throwable cause) {
+            super(cause.getMessage(), cause);
+            this.imported = imported;
+        }
+
+        public int getImported() {
+            return imported;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.uvhnael.ktal.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * First {@code k} elements of an in-memory collection in a given order,
+ * without sorting all of it: a bounded heap keeps the best {@code k} seen so
+ * far, so the cost is O(n log k) time and O(k) memory instead of O(n log n).
+ * Use SQL {@code ORDER BY ... LIMIT} when the data comes from the database.
+ */
+public final class TopK {
+
+    private TopK() {
+    }
+
+    /**
+     * @param order the order of the result, e.g. score descending
+     * @return at most {@code k} elements, sorted by {@code order}
+     */
+    public static <T> List<T> of(Iterable<? extends T> items, int k, Comparator<? super T> order) {
+        if (k <= 0) {
+            return List.of();
+        }
+        // Đỉnh heap là phần tử "tệ" nhất trong k phần tử đang giữ
+        PriorityQueue<T> heap = new PriorityQueue<>(k + 1, order.reversed());
+        for (T item : items) {
+            if (heap.size() < k) {
+                heap.add(item);
+            } else if (order.compare(item, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+}
@@ -0,0 +1,83 @@
+-- Baseline schema. IF NOT EXISTS so databases created by hand before
+-- migrations existed are adopted as-is (see spring.flyway.baseline-version=0).
+-- Timestamps are ISO-8601 strings written by the application.
+
+CREATE TABLE IF NOT EXISTS blog
+(
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    title        VARCHAR(255) NOT NULL,
+    slug         VARCHAR(255) NOT NULL,
+    author       VARCHAR(255),
+    category     VARCHAR(100),
+    thumbnail    VARCHAR(500),
+    content      MEDIUMTEXT,
+    plain_text   MEDIUMTEXT,
+    summary      VARCHAR(255),
+    content_hash CHAR(64),
+    status       VARCHAR(50),
+    created_at   VARCHAR(32),
+    updated_at   VARCHAR(32),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS project
+(
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(255) NOT NULL,
+    slug        VARCHAR(255) NOT NULL,
+    description TEXT,
+    year        INT,
+    area        VARCHAR(100),
+    thumbnail   VARCHAR(500),
+    content     MEDIUMTEXT,
+    status      VARCHAR(50),
+    created_at  VARCHAR(32),
+    updated_at  VARCHAR(32),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS service
+(
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    icon        VARCHAR(255),
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    features    TEXT,
+    price       VARCHAR(100),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS contact
+(
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(255) NOT NULL,
+    phone      VARCHAR(50),
+    email      VARCHAR(255),
+    service_id BIGINT,
+    message    TEXT,
+    status     VARCHAR(50),
+    note       TEXT,
+    handled_by BIGINT,
+    handled_at VARCHAR(32),
+    created_at VARCHAR(32),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS `user`
+(
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    email    VARCHAR(255) NOT NULL,
+    username VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(50),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS chat_session
+(
+    id           VARCHAR(36) NOT NULL,
+    session_json MEDIUMTEXT  NOT NULL,
+    updated_at   BIGINT      NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_chat_session_updated_at (updated_at)
+);
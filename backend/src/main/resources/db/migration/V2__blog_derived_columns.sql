@@ -0,0 +1,24 @@
+-- Derived blog columns (plain_text, summary, content_hash) for blog tables
+-- created before they existed. MySQL has no ADD COLUMN IF NOT EXISTS, so
+-- each column is added only when information_schema does not list it.
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE blog ADD COLUMN plain_text MEDIUMTEXT', 'DO 0')
+            FROM information_schema.columns
+            WHERE table_schema = DATABASE() AND table_name = 'blog' AND column_name = 'plain_text');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE blog ADD COLUMN summary VARCHAR(255)', 'DO 0')
+            FROM information_schema.columns
+            WHERE table_schema = DATABASE() AND table_name = 'blog' AND column_name = 'summary');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE blog ADD COLUMN content_hash CHAR(64)', 'DO 0')
+            FROM information_schema.columns
+            WHERE table_schema = DATABASE() AND table_name = 'blog' AND column_name = 'content_hash');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,76 @@
+-- Indexes behind the hot queries. The keyset indexes may already exist on
+-- databases where they were created at startup before migrations, so every
+-- index is created only when information_schema does not list it.
+-- Duplicate slugs must be cleaned up before the unique slug indexes can be built.
+
+-- findBySlug
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE UNIQUE INDEX uk_blog_slug ON blog (slug)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'blog' AND index_name = 'uk_blog_slug');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- status filter + newest-first / keyset pages
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_blog_status_created_at_id ON blog (status, created_at, id)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'blog' AND index_name = 'idx_blog_status_created_at_id');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- unfiltered keyset pages
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_blog_created_at_id ON blog (created_at, id)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'blog' AND index_name = 'idx_blog_created_at_id');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- findBySlug
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE UNIQUE INDEX uk_project_slug ON project (slug)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'project' AND index_name = 'uk_project_slug');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- status filter + newest-first / keyset pages
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_project_status_created_at_id ON project (status, created_at, id)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'project' AND index_name = 'idx_project_status_created_at_id');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- unfiltered keyset pages
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_project_created_at_id ON project (created_at, id)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'project' AND index_name = 'idx_project_created_at_id');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- contact filters by service and status
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_contact_service_id_status ON contact (service_id, status)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'contact' AND index_name = 'idx_contact_service_id_status');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- status filter + newest-first / keyset pages
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_contact_status_created_at_id ON contact (status, created_at, id)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'contact' AND index_name = 'idx_contact_status_created_at_id');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- unfiltered keyset pages
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_contact_created_at_id ON contact (created_at, id)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'contact' AND index_name = 'idx_contact_created_at_id');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
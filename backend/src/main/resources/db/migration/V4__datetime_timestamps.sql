@@ -0,0 +1,28 @@
+-- Timestamps were ISO-8601 strings (LocalDateTime#toString), so ordering and
+-- range conditions compared text. Convert them to DATETIME(6) in place:
+-- normalise the 'T' separator and empty strings first so strict mode accepts
+-- every value, then change the column type. Indexes on created_at are kept.
+
+UPDATE blog
+SET created_at = NULLIF(REPLACE(created_at, 'T', ' '), ''),
+    updated_at = NULLIF(REPLACE(updated_at, 'T', ' '), '');
+
+ALTER TABLE blog
+    MODIFY created_at DATETIME(6) NULL,
+    MODIFY updated_at DATETIME(6) NULL;
+
+UPDATE project
+SET created_at = NULLIF(REPLACE(created_at, 'T', ' '), ''),
+    updated_at = NULLIF(REPLACE(updated_at, 'T', ' '), '');
+
+ALTER TABLE project
+    MODIFY created_at DATETIME(6) NULL,
+    MODIFY updated_at DATETIME(6) NULL;
+
+UPDATE contact
+SET created_at = NULLIF(REPLACE(created_at, 'T', ' '), ''),
+    handled_at = NULLIF(REPLACE(handled_at, 'T', ' '), '');
+
+ALTER TABLE contact
+    MODIFY created_at DATETIME(6) NULL,
+    MODIFY handled_at DATETIME(6) NULL;
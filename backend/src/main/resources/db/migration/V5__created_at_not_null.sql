@@ -0,0 +1,24 @@
+-- Updates used to write created_at from the request body, so a PUT without
+-- createdAt left it NULL; keyset pages skip such rows. Backfill from the best
+-- timestamp available and make the column mandatory (updates no longer touch it).
+
+UPDATE blog
+SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP(6))
+WHERE created_at IS NULL;
+
+ALTER TABLE blog
+    MODIFY created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+UPDATE project
+SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP(6))
+WHERE created_at IS NULL;
+
+ALTER TABLE project
+    MODIFY created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+UPDATE contact
+SET created_at = COALESCE(handled_at, CURRENT_TIMESTAMP(6))
+WHERE created_at IS NULL;
+
+ALTER TABLE contact
+    MODIFY created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
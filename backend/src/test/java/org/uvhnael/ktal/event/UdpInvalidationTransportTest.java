@@ -0,0 +1,78 @@
+package org.uvhnael.ktal.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.uvhnael.ktal.event.EntityChangedEvent.ChangeType;
+import org.uvhnael.ktal.event.EntityChangedEvent.EntityType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Two transports on loopback stand in for two backend instances.
+ */
+class UdpInvalidationTransportTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UdpInvalidationTransport nodeA;
+    private UdpInvalidationTransport nodeB;
+
+    @AfterEach
+    void close() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void eventSentOnOneNodeIsReceivedOnItsPeer() throws Exception {
+        BlockingQueue<EntityChangedEvent> received = startNodeB();
+
+        nodeA = new UdpInvalidationTransport(objectMapper, "127.0.0.1", 0, "127.0.0.1:" + nodeB.getLocalPort(), SECRET);
+        nodeA.start();
+
+        EntityChangedEvent sent = event();
+        nodeA.send(sent);
+
+        assertEquals(sent, received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void packetSignedWithAnotherSecretIsDropped() throws Exception {
+        BlockingQueue<EntityChangedEvent> received = startNodeB();
+
+        nodeA = new UdpInvalidationTransport(objectMapper, "127.0.0.1", 0, "127.0.0.1:" + nodeB.getLocalPort(),
+                "another-secret-of-32-bytes-long!");
+        nodeA.start();
+        nodeA.send(event());
+
+        assertNull(received.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    private BlockingQueue<EntityChangedEvent> startNodeB() throws Exception {
+        // Cổng của node A chưa biết trước; chỉ địa chỉ nguồn được kiểm tra
+        nodeB = new UdpInvalidationTransport(objectMapper, "127.0.0.1", 0, "127.0.0.1:1", SECRET);
+        nodeB.start();
+        BlockingQueue<EntityChangedEvent> received = new LinkedBlockingQueue<>();
+        nodeB.onReceive(received::add);
+        return received;
+    }
+
+    private static EntityChangedEvent event() {
+        return new EntityChangedEvent(EntityType.BLOG, ChangeType.UPDATED, 42L,
+                List.of("new-slug", "old-slug"), Map.of("status", "draft"), Map.of("status", "published"), "node-a");
+    }
+}
@@ -0,0 +1,82 @@
+package org.uvhnael.ktal.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemoryRateLimiterBackendTest {
+
+    private static final String KEY = "chat:ip:10.0.0.1";
+    // 60/phút -> 1 token mỗi giây, burst 60
+    private static final int PERMITS = 60;
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final InMemoryRateLimiterBackend backend = new InMemoryRateLimiterBackend(now::get);
+
+    @Test
+    void fullBucketAllowsBurstThenRejectsWithRetryAfter() {
+        for (int i = 0; i < PERMITS; i++) {
+            assertEquals(0, backend.tryAcquire(KEY, PERMITS), "request " + i);
+        }
+        assertEquals(1000, backend.tryAcquire(KEY, PERMITS));
+
+        advanceMillis(400);
+        assertEquals(600, backend.tryAcquire(KEY, PERMITS));
+    }
+
+    @Test
+    void tokensRefillAtTheSustainedRate() {
+        drain();
+
+        advanceMillis(1000);
+        assertEquals(0, backend.tryAcquire(KEY, PERMITS));
+        assertEquals(1000, backend.tryAcquire(KEY, PERMITS));
+
+        advanceMillis(3000);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, backend.tryAcquire(KEY, PERMITS), "request " + i);
+        }
+        assertEquals(1000, backend.tryAcquire(KEY, PERMITS));
+    }
+
+    @Test
+    void idleTimeDoesNotGrowTheBurstBeyondTheBucketSize() {
+        drain();
+
+        advanceMillis(TimeUnit.MINUTES.toMillis(10));
+        for (int i = 0; i < PERMITS; i++) {
+            assertEquals(0, backend.tryAcquire(KEY, PERMITS), "request " + i);
+        }
+        assertEquals(1000, backend.tryAcquire(KEY, PERMITS));
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        drain();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1000, backend.tryAcquire(KEY, PERMITS));
+        }
+
+        advanceMillis(1000);
+        assertEquals(0, backend.tryAcquire(KEY, PERMITS));
+    }
+
+    @Test
+    void bucketsAreIndependentPerKey() {
+        drain();
+        assertEquals(0, backend.tryAcquire("chat:ip:10.0.0.2", PERMITS));
+    }
+
+    private void drain() {
+        for (int i = 0; i < PERMITS; i++) {
+            backend.tryAcquire(KEY, PERMITS);
+        }
+    }
+
+    private void advanceMillis(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,115 @@
+package org.uvhnael.ktal.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Runs the Flyway migrations against a real MySQL and checks that the hot
+ * queries are answered from an index. Fails when EXPLAIN reports a full table
+ * scan (type = ALL). Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+
+    private static final int ROWS = 500;
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword()));
+
+        // Đủ dữ liệu để optimizer không chọn full scan vì bảng quá nhỏ
+        List<Object[]> blogs = new ArrayList<>();
+        List<Object[]> projects = new ArrayList<>();
+        List<Object[]> contacts = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            String createdAt = String.format("2024-01-01T00:%02d:%02d", i / 60 % 60, i % 60);
+            String status = i % 3 == 0 ? "draft" : "published";
+            blogs.add(new Object[]{"Blog " + i, "blog-" + i, "content " + i, status, createdAt, createdAt});
+            projects.add(new Object[]{"Project " + i, "project-" + i, 2000 + i % 25, status, createdAt, createdAt});
+            contacts.add(new Object[]{"Contact " + i, (long) (i % 50), i % 4 == 0 ? "done" : "pending", createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO blog (title, slug, content, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)", blogs);
+        jdbcTemplate.batchUpdate("INSERT INTO project (title, slug, year, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)", projects);
+        jdbcTemplate.batchUpdate("INSERT INTO contact (name, service_id, status, created_at) VALUES (?, ?, ?, ?)", contacts);
+        jdbcTemplate.execute("ANALYZE TABLE blog, project, contact");
+    }
+
+    @Test
+    void blogSlugLookupUsesUniqueIndex() {
+        assertIndexed("SELECT " + BlogRepository.COLUMNS + " FROM blog WHERE slug = ?", "blog-42");
+    }
+
+    @Test
+    void projectSlugLookupUsesUniqueIndex() {
+        assertIndexed("SELECT " + ProjectRepository.COLUMNS + " FROM project WHERE slug = ?", "project-42");
+    }
+
+    @Test
+    void blogsByStatusNewestFirstUseIndex() {
+        assertIndexed("SELECT " + BlogRepository.LIST_COLUMNS + " FROM blog WHERE status = ?" +
+                " ORDER BY created_at DESC, id DESC LIMIT ?", "published", 10);
+    }
+
+    @Test
+    void projectsByStatusNewestFirstUseIndex() {
+        assertIndexed("SELECT " + ProjectRepository.LIST_COLUMNS + " FROM project WHERE status = ?" +
+                " ORDER BY created_at DESC, id DESC LIMIT ?", "published", 10);
+    }
+
+    @Test
+    void blogKeysetPageUsesIndex() {
+        assertIndexed("SELECT " + BlogRepository.LIST_COLUMNS + " FROM blog" +
+                        " WHERE (created_at < ? OR (created_at = ? AND id < ?) OR created_at IS NULL) ORDER BY created_at DESC, id DESC LIMIT ?",
+                "2024-01-01T00:05:00", "2024-01-01T00:05:00", 300L, 11);
+    }
+
+    @Test
+    void contactsByServiceAndStatusUseIndex() {
+        assertIndexed("SELECT " + ContactRepository.COLUMNS + " FROM contact WHERE service_id = ? AND status = ?",
+                7L, "pending");
+    }
+
+    @Test
+    void contactsByStatusNewestFirstUseIndex() {
+        assertIndexed("SELECT " + ContactRepository.COLUMNS + " FROM contact WHERE status = ?" +
+                " ORDER BY created_at DESC, id DESC LIMIT ?", "pending", 10);
+    }
+
+    @Test
+    void recentContactsReadTheCreatedAtIndex() {
+        assertIndexed("SELECT " + ContactRepository.COLUMNS + " FROM contact" +
+                " ORDER BY created_at DESC, id DESC LIMIT ?", 10);
+    }
+
+    private static void assertIndexed(String sql, Object... args) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, args);
+        for (Map<String, Object> row : plan) {
+            assertNotEquals("ALL", row.get("type"), () -> "Full table scan for: " + sql + " -> " + row);
+            assertNotNull(row.get("key"), () -> "No index used for: " + sql + " -> " + row);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.uvhnael.ktal.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.uvhnael.ktal.model.Blog;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rows/sec of the index-based blog mapper vs BeanPropertyRowMapper over an
+ * in-memory ResultSet (no database, so only mapping cost is measured).
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class RowMapperBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+    private static final int ROUNDS = 5;
+    private static final String[] COLUMNS = BlogRepository.COLUMNS.split(",\\s*");
+
+    @Test
+    void blogFindAllMapping() throws Exception {
+        RowMapper<Blog> beanMapper = new BeanPropertyRowMapper<>(Blog.class);
+
+        // Cả hai mapper phải cho cùng kết quả
+        assertEquals(mapAll(beanMapper, 1)[0], mapAll(BlogRepository.ROW_MAPPER, 1)[0]);
+
+        // Warm-up cho JIT
+        mapAll(beanMapper, ROWS);
+        mapAll(BlogRepository.ROW_MAPPER, ROWS);
+
+        double beanRate = rowsPerSecond(beanMapper);
+        double indexRate = rowsPerSecond(BlogRepository.ROW_MAPPER);
+
+        System.out.printf("findAll(blog) mapping, %d rows: BeanPropertyRowMapper %.0f rows/s, index RowMapper %.0f rows/s (x%.1f)%n",
+                ROWS, beanRate, indexRate, indexRate / beanRate);
+    }
+
+    private double rowsPerSecond(RowMapper<Blog> mapper) throws SQLException {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            mapAll(mapper, ROWS);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return ROWS / (best / 1e9);
+    }
+
+    private Blog[] mapAll(RowMapper<Blog> mapper, int rows) throws SQLException {
+        ResultSet rs = fakeResultSet();
+        Blog[] result = new Blog[rows];
+        for (int i = 0; i < rows; i++) {
+            result[i] = mapper.mapRow(rs, i);
+        }
+        return result;
+    }
+
+    /**
+     * ResultSet positioned on one fixed blog row; supports the calls both mappers make
+     */
+    private static ResultSet fakeResultSet() {
+        Object[] row = {1L, "Title", "title", "admin", "news", "/uploads/t.png", "<p>Content</p>",
+                "Content", "Content", "abc123", "published", LocalDateTime.of(2025, 1, 1, 10, 0), LocalDateTime.of(2025, 1, 2, 10, 0)};
+
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                RowMapperBenchmarkTest.class.getClassLoader(), new Class<?>[]{ResultSetMetaData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> COLUMNS.length;
+                    case "getColumnLabel", "getColumnName" -> COLUMNS[(int) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        return (ResultSet) Proxy.newProxyInstance(
+                RowMapperBenchmarkTest.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getMetaData" -> metaData;
+                    case "getString" -> (String) row[(int) args[0] - 1];
+                    case "getLong" -> (Long) row[(int) args[0] - 1];
+                    case "getObject" -> row[(int) args[0] - 1];
+                    case "wasNull" -> false;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
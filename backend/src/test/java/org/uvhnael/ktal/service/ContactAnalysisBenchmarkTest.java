@@ -0,0 +1,147 @@
+package org.uvhnael.ktal.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.uvhnael.ktal.model.Contact;
+import org.uvhnael.ktal.model.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Contacts-by-service over 100k contacts and 500 services: the old nested
+ * stream scan (one pass over the service list per distinct service id) vs the
+ * hash join in {@link StatisticsService#countsByServiceTitle}, both from the
+ * full contact list and from per-id counts as kept by {@link DashboardCounters}.
+ * Some contacts point at deleted services and some services share a title.
+ * The production SQL join vs counters comparison is in
+ * {@link ContactAnalysisSqlBenchmarkTest}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ContactAnalysisBenchmarkTest {
+
+    private static final int CONTACTS = 100_000;
+    private static final int SERVICES = 500;
+    // service_id trỏ tới service đã bị xoá
+    private static final int MISSING_SERVICES = 20;
+    // Service cùng tên với service khác
+    private static final int DISTINCT_TITLES = 450;
+    private static final int ROUNDS = 5;
+    private static final String UNKNOWN = "Unknown Service";
+
+    @Test
+    void contactsByService() {
+        List<Service> services = services();
+        List<Contact> contacts = contacts();
+        Map<String, Long> countsByServiceId = new HashMap<>();
+        contacts.forEach(c -> countsByServiceId.merge(String.valueOf(c.getServiceId()), 1L, Long::sum));
+
+        // Hash join phải cộng dồn tên trùng và service không tồn tại; cách cũ ghi đè nên bị lệch
+        Map<String, Long> expected = perContact(contacts, services);
+        assertEquals(expected, hashJoin(contacts, services));
+        assertEquals(expected, StatisticsService.countsByServiceTitle(countsByServiceId, services, UNKNOWN));
+        assertNotEquals(expected, nestedScan(contacts, services));
+
+        double nestedMillis = bestMillis(() -> nestedScan(contacts, services));
+        double hashMillis = bestMillis(() -> hashJoin(contacts, services));
+        double countersMillis = bestMillis(() -> StatisticsService.countsByServiceTitle(countsByServiceId, services, UNKNOWN));
+
+        System.out.printf("contactsByService, %d contacts / %d services: nested scan %.2f ms, hash join %.2f ms (x%.1f), "
+                        + "hash join over counters %.3f ms (x%.0f)%n",
+                CONTACTS, SERVICES, nestedMillis, hashMillis, nestedMillis / hashMillis,
+                countersMillis, nestedMillis / countersMillis);
+    }
+
+    /**
+     * The previous controller code, kept here as the baseline
+     */
+    private static Map<String, Long> nestedScan(List<Contact> contacts, List<Service> services) {
+        Map<Long, Long> countsById = contacts.stream()
+                .filter(c -> c.getServiceId() != null)
+                .collect(Collectors.groupingBy(Contact::getServiceId, Collectors.counting()));
+
+        Map<String, Long> counts = new HashMap<>();
+        countsById.forEach((serviceId, count) -> {
+            String title = services.stream()
+                    .filter(s -> s.getId().equals(serviceId))
+                    .findFirst()
+                    .map(Service::getTitle)
+                    .orElse(UNKNOWN);
+            counts.put(title, count);
+        });
+        return counts;
+    }
+
+    /**
+     * Reference result: title of every contact looked up on its own
+     */
+    private static Map<String, Long> perContact(List<Contact> contacts, List<Service> services) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Contact contact : contacts) {
+            String title = UNKNOWN;
+            for (Service service : services) {
+                if (service.getId().equals(contact.getServiceId())) {
+                    title = service.getTitle();
+                    break;
+                }
+            }
+            counts.merge(title, 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    private static Map<String, Long> hashJoin(List<Contact> contacts, List<Service> services) {
+        Map<String, Long> countsById = new HashMap<>();
+        for (Contact contact : contacts) {
+            if (contact.getServiceId() != null) {
+                countsById.merge(String.valueOf(contact.getServiceId()), 1L, Long::sum);
+            }
+        }
+        return StatisticsService.countsByServiceTitle(countsById, services, UNKNOWN);
+    }
+
+    private static double bestMillis(Supplier<Map<String, Long>> run) {
+        // Warm-up cho JIT
+        for (int i = 0; i < ROUNDS; i++) {
+            run.get();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            run.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+
+    private static List<Service> services() {
+        List<Service> services = new ArrayList<>(SERVICES);
+        for (long id = 1; id <= SERVICES; id++) {
+            Service service = new Service();
+            service.setId(id);
+            service.setTitle("Service " + id % DISTINCT_TITLES);
+            services.add(service);
+        }
+        return services;
+    }
+
+    private static List<Contact> contacts() {
+        Random random = new Random(42);
+        List<Contact> contacts = new ArrayList<>(CONTACTS);
+        for (long id = 1; id <= CONTACTS; id++) {
+            Contact contact = new Contact();
+            contact.setId(id);
+            contact.setServiceId(1L + random.nextInt(SERVICES + MISSING_SERVICES));
+            contacts.add(contact);
+        }
+        return contacts;
+    }
+}
@@ -0,0 +1,109 @@
+package org.uvhnael.ktal.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.uvhnael.ktal.model.Service;
+import org.uvhnael.ktal.repository.AggregationRepository;
+import org.uvhnael.ktal.repository.ServiceRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Contacts-by-service as production serves it, over 100k contacts and 500
+ * services in a real MySQL: the LEFT JOIN ... GROUP BY of
+ * {@link AggregationRepository#contactDistributions} (used until the counters
+ * are seeded) vs the hash join of {@link DashboardCounters} totals with the
+ * (cached) service list. Skipped when Docker is not available.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class ContactAnalysisSqlBenchmarkTest {
+
+    private static final int CONTACTS = 100_000;
+    private static final int SERVICES = 500;
+    private static final int MISSING_SERVICES = 20;
+    private static final int DISTINCT_TITLES = 450;
+    private static final int ROUNDS = 5;
+    private static final String UNKNOWN = "Unknown Service";
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword()));
+
+        List<Object[]> services = new ArrayList<>();
+        for (int i = 1; i <= SERVICES; i++) {
+            services.add(new Object[]{"Service " + i % DISTINCT_TITLES});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO service (title) VALUES (?)", services);
+
+        Random random = new Random(42);
+        List<Object[]> contacts = new ArrayList<>();
+        for (int i = 0; i < CONTACTS; i++) {
+            contacts.add(new Object[]{"Contact " + i, 1L + random.nextInt(SERVICES + MISSING_SERVICES), "pending"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO contact (name, service_id, status) VALUES (?, ?, ?)", contacts);
+        jdbcTemplate.execute("ANALYZE TABLE service, contact");
+    }
+
+    @Test
+    void sqlJoinVsCounters() {
+        AggregationRepository aggregationRepository = new AggregationRepository(jdbcTemplate);
+        DashboardCounters counters = new DashboardCounters(aggregationRepository, new SimpleMeterRegistry());
+        counters.reconcile();
+        // Danh sách service được cache trong ServiceService.findAll
+        List<Service> services = new ServiceRepository(jdbcTemplate).findAll();
+
+        Supplier<Map<String, Long>> sqlJoin =
+                () -> aggregationRepository.contactDistributions(UNKNOWN).get("service");
+        Supplier<Map<String, Long>> fromCounters =
+                () -> StatisticsService.countsByServiceTitle(counters.distribution("contact.service"), services, UNKNOWN);
+
+        assertEquals(sqlJoin.get(), fromCounters.get());
+
+        double sqlMillis = bestMillis(sqlJoin);
+        double countersMillis = bestMillis(fromCounters);
+
+        System.out.printf("contactsByService, %d contacts / %d services: SQL LEFT JOIN %.2f ms, counters + hash join %.3f ms (x%.0f)%n",
+                CONTACTS, SERVICES, sqlMillis, countersMillis, sqlMillis / countersMillis);
+    }
+
+    private static double bestMillis(Supplier<Map<String, Long>> run) {
+        // Warm-up cho JIT và buffer pool
+        for (int i = 0; i < ROUNDS; i++) {
+            run.get();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            run.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+}
@@ -0,0 +1,105 @@
+package org.uvhnael.ktal.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.uvhnael.ktal.event.EntityChangedEvent;
+import org.uvhnael.ktal.event.EntityChangedEvent.ChangeType;
+import org.uvhnael.ktal.event.EntityChangedEvent.EntityType;
+import org.uvhnael.ktal.repository.AggregationRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardCountersTest {
+
+    private final AggregationRepository aggregationRepository = mock(AggregationRepository.class);
+    private final DashboardCounters counters = new DashboardCounters(aggregationRepository, new SimpleMeterRegistry());
+
+    @Test
+    void eventsMoveCountsBetweenDimensionValues() {
+        when(aggregationRepository.dimensionCounts()).thenReturn(Map.of(
+                "blog.total", Map.of("", 2L),
+                "blog.status", Map.of("Draft", 2L),
+                "blog.category", Map.of("news", 2L)));
+        counters.reconcile();
+        assertTrue(counters.isReady());
+
+        counters.onEntityChanged(new EntityChangedEvent(EntityType.BLOG, ChangeType.UPDATED, 1L, List.of(),
+                Map.of("status", "draft", "category", "news"), Map.of("status", "published", "category", "tips"), "n"));
+        counters.onEntityChanged(new EntityChangedEvent(EntityType.BLOG, ChangeType.CREATED, 3L, List.of(),
+                Map.of(), Map.of("status", "draft", "category", ""), "n"));
+
+        Map<String, Long> overview = counters.overview();
+        assertEquals(3L, overview.get("totalBlogs"));
+        assertEquals(1L, overview.get("publishedBlogs"));
+        assertEquals(2L, overview.get("draftBlogs"));
+        assertEquals(Map.of("news", 1L, "tips", 1L), counters.distribution("blog.category"));
+        // Đếm không phân biệt hoa thường nhưng hiển thị theo cách viết trong DB
+        assertEquals(Map.of("Draft", 2L, "published", 1L), counters.distribution("blog.status"));
+    }
+
+    @Test
+    void valuesDifferingOnlyInCaseOrAccentsShareACounter() {
+        // MySQL gộp "Tin tức" và "tin tuc" trong GROUP BY (collation ai_ci)
+        when(aggregationRepository.dimensionCounts()).thenReturn(Map.of(
+                "blog.total", Map.of("", 3L),
+                "blog.category", Map.of("Tin tức", 3L),
+                "project.area", Map.of("Hà Nội", 1L)));
+        counters.reconcile();
+
+        counters.onEntityChanged(new EntityChangedEvent(EntityType.BLOG, ChangeType.CREATED, 4L, List.of(),
+                Map.of(), Map.of("category", "tin tuc"), "n"));
+        counters.onEntityChanged(new EntityChangedEvent(EntityType.PROJECT, ChangeType.UPDATED, 1L, List.of(),
+                Map.of("area", "HA NOI"), Map.of("area", "Đà Nẵng"), "n"));
+        assertEquals(Map.of("Tin tức", 4L), counters.distribution("blog.category"));
+        assertEquals(Map.of("Đà Nẵng", 1L), counters.distribution("project.area"));
+
+        // SQL đã thấy cả 4 bài dưới một nhóm -> không có độ lệch
+        when(aggregationRepository.dimensionCounts()).thenReturn(Map.of(
+                "blog.total", Map.of("", 4L),
+                "blog.category", Map.of("tin tuc", 4L),
+                "project.area", Map.of("da nang", 1L)));
+        counters.reconcile();
+        assertEquals(Map.of("Tin tức", 4L), counters.distribution("blog.category"));
+        assertEquals(Map.of("Đà Nẵng", 1L), counters.distribution("project.area"));
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        when(aggregationRepository.dimensionCounts()).thenReturn(Map.of("contact.total", Map.of("", 5L)));
+        assertFalse(counters.isReady());
+        counters.reconcile();
+
+        // Sự kiện xoá bị mất -> bộ đếm lệch cho tới lần đối soát tiếp theo
+        counters.onEntityChanged(new EntityChangedEvent(EntityType.CONTACT, ChangeType.CREATED, 6L, List.of(),
+                Map.of(), Map.of(), "n"));
+        assertEquals(6L, counters.overview().get("totalContacts"));
+
+        counters.reconcile();
+        assertEquals(5L, counters.overview().get("totalContacts"));
+    }
+
+    @Test
+    void eventDuringSnapshotIsNotOverwritten() {
+        when(aggregationRepository.dimensionCounts()).thenReturn(Map.of("contact.total", Map.of("", 5L)));
+        counters.reconcile();
+
+        // Lần đọc đầu: sự kiện tạo mới tới khi snapshot (chưa thấy hàng mới) đang chạy -> bỏ, đọc lại
+        when(aggregationRepository.dimensionCounts())
+                .thenAnswer(invocation -> {
+                    counters.onEntityChanged(new EntityChangedEvent(EntityType.CONTACT, ChangeType.CREATED, 6L,
+                            List.of(), Map.of(), Map.of(), "n"));
+                    return Map.of("contact.total", Map.of("", 5L));
+                })
+                .thenReturn(Map.of("contact.total", Map.of("", 6L)));
+        counters.reconcile();
+
+        assertEquals(6L, counters.overview().get("totalContacts"));
+    }
+}
@@ -0,0 +1,94 @@
+package org.uvhnael.ktal.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.uvhnael.ktal.event.EntityChangedEvent;
+import org.uvhnael.ktal.event.EntityChangedEvent.ChangeType;
+import org.uvhnael.ktal.event.EntityChangedEvent.EntityType;
+import org.uvhnael.ktal.model.Blog;
+import org.uvhnael.ktal.model.Project;
+import org.uvhnael.ktal.repository.BlogRepository;
+import org.uvhnael.ktal.repository.ContactRepository;
+import org.uvhnael.ktal.repository.ProjectRepository;
+import org.uvhnael.ktal.repository.ServiceRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SearchServiceTest {
+
+    private final BlogRepository blogRepository = mock(BlogRepository.class);
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        searchService = new SearchService(blogRepository, projectRepository,
+                mock(ServiceRepository.class), mock(ContactRepository.class));
+        searchService.open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        searchService.close();
+    }
+
+    @Test
+    void matchesWithoutDiacriticsAndByPrefix() throws Exception {
+        Blog blog = new Blog();
+        blog.setId(1L);
+        blog.setTitle("Thiết kế nội thất căn hộ");
+        blog.setPlainText("Công trình hoàn thiện tại Đà Nẵng");
+        when(blogRepository.findByIds(List.of(1L))).thenReturn(List.of(blog));
+        changed(EntityType.BLOG, ChangeType.CREATED, 1L);
+        assertTrue(searchService.awaitIndexed(Duration.ofSeconds(5)));
+
+        assertEquals(List.of(1L), searchService.searchIds(EntityType.BLOG, "thiet ke", 10));
+        assertEquals(List.of(1L), searchService.searchIds(EntityType.BLOG, "da nan", 10));
+        assertEquals(List.of(1L), searchService.searchIds(EntityType.BLOG, "NỘI TH", 10));
+        assertEquals(List.of(), searchService.searchIds(EntityType.BLOG, "biệt thự", 10));
+        // Mỗi loại có chỉ mục riêng
+        assertEquals(List.of(), searchService.searchIds(EntityType.PROJECT, "thiet ke", 10));
+    }
+
+    @Test
+    void titleMatchesRankFirstAndDeletesAreApplied() throws Exception {
+        Project inBody = new Project();
+        inBody.setId(1L);
+        inBody.setTitle("Nhà phố");
+        inBody.setDescription("Phong cách tối giản");
+        Project inTitle = new Project();
+        inTitle.setId(2L);
+        inTitle.setTitle("Căn hộ tối giản");
+        // Hai sự kiện có thể rơi vào cùng một lô
+        when(projectRepository.findAllById(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return Stream.of(inBody, inTitle).filter(p -> ids.contains(p.getId())).toList();
+        });
+        changed(EntityType.PROJECT, ChangeType.CREATED, 1L);
+        changed(EntityType.PROJECT, ChangeType.CREATED, 2L);
+        assertTrue(searchService.awaitIndexed(Duration.ofSeconds(5)));
+
+        assertEquals(List.of(2L, 1L), searchService.searchIds(EntityType.PROJECT, "toi gian", 10));
+        assertEquals(List.of(2L), searchService.searchIds(EntityType.PROJECT, "toi gian", 1));
+
+        changed(EntityType.PROJECT, ChangeType.DELETED, 2L);
+        assertTrue(searchService.awaitIndexed(Duration.ofSeconds(5)));
+        assertEquals(List.of(1L), searchService.searchIds(EntityType.PROJECT, "toi gian", 10));
+    }
+
+    private void changed(EntityType entityType, ChangeType changeType, Long id) {
+        searchService.onEntityChanged(new EntityChangedEvent(entityType, changeType, id, List.of(),
+                Map.of(), Map.of(), "test"));
+    }
+}
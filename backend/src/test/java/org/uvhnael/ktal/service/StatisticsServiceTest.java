@@ -0,0 +1,29 @@
+package org.uvhnael.ktal.service;
+
+import org.junit.jupiter.api.Test;
+import org.uvhnael.ktal.model.Service;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StatisticsServiceTest {
+
+    @Test
+    void countsByServiceTitleMergesSharedTitlesAndMissingServices() {
+        List<Service> services = List.of(service(1L, "Thiết kế"), service(2L, "Thi công"), service(3L, "Thiết kế"));
+        // 98, 99: service đã bị xoá
+        Map<String, Long> countsByServiceId = Map.of("1", 2L, "2", 1L, "3", 4L, "98", 1L, "99", 5L);
+
+        assertEquals(Map.of("Thiết kế", 6L, "Thi công", 1L, "Unknown Service", 6L),
+                StatisticsService.countsByServiceTitle(countsByServiceId, services, "Unknown Service"));
+    }
+
+    private static Service service(Long id, String title) {
+        Service service = new Service();
+        service.setId(id);
+        service.setTitle(title);
+        return service;
+    }
+}
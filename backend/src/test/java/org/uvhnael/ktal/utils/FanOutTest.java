@@ -0,0 +1,71 @@
+package org.uvhnael.ktal.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class FanOutTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sectionsRunInParallelWithinTheDeadline() {
+        // Mỗi section chỉ qua được barrier khi cả ba cùng đang chạy
+        CyclicBarrier allRunning = new CyclicBarrier(3);
+        FanOut.Result result = FanOut.on(executor, Deadline.after(Duration.ofSeconds(5)))
+                .fork("a", () -> awaitThen(allRunning, "A"))
+                .fork("b", () -> awaitThen(allRunning, "B"))
+                .fork("c", () -> awaitThen(allRunning, "C"))
+                .join();
+
+        assertFalse(result.isPartial());
+        assertEquals(Map.of("a", "A", "b", "B", "c", "C"), result.values());
+    }
+
+    @Test
+    void slowAndFailingSectionsAreReportedWithoutLosingTheOthers() {
+        FanOut.Result result = FanOut.on(executor, Deadline.after(Duration.ofMillis(300)))
+                .fork("fast", () -> "ok")
+                .fork("slow", () -> sleepThen(5_000, "late"))
+                .fork("broken", () -> {
+                    throw new IllegalStateException("boom");
+                })
+                .join();
+
+        assertEquals("ok", result.get("fast", null));
+        assertEquals("fallback", result.get("slow", "fallback"));
+        assertEquals(Map.of("slow", FanOut.ERROR_TIMEOUT, "broken", FanOut.ERROR_FAILED), result.errors());
+    }
+
+    private static String awaitThen(CyclicBarrier barrier, String value) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("sections did not overlap", e);
+        }
+        return value;
+    }
+
+    private static String sleepThen(long millis, String value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
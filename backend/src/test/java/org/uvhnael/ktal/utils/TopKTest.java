@@ -0,0 +1,30 @@
+package org.uvhnael.ktal.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TopKTest {
+
+    @Test
+    void matchesSortThenLimit() {
+        List<Integer> values = new ArrayList<>(IntStream.range(0, 1_000).boxed().toList());
+        Collections.shuffle(values, new Random(7));
+
+        assertEquals(List.of(999, 998, 997, 996, 995), TopK.of(values, 5, Comparator.reverseOrder()));
+        assertEquals(List.of(0, 1, 2), TopK.of(values, 3, Comparator.naturalOrder()));
+    }
+
+    @Test
+    void handlesFewerElementsThanKAndNonPositiveK() {
+        assertEquals(List.of(3, 2, 1), TopK.of(List.of(2, 3, 1), 10, Comparator.reverseOrder()));
+        assertEquals(List.of(), TopK.of(List.of(1, 2), 0, Comparator.<Integer>naturalOrder()));
+    }
+}